@@ -0,0 +1,109 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.archive.ColumnarTicketArchive;
+import com.learnings.ticketapi.archive.MappedTicketArchive;
+import com.learnings.ticketapi.archive.TicketArchive;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads of closed tickets through the H2 table (JPA) against the same tickets in each archive
+ * format: single-ticket lookups and an agent + one-month filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArchiveReadBenchmark {
+
+    private static final int ARCHIVE_BATCH_SIZE = 10_000;
+
+    @Param({"100000", "1000000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+    private Path archiveDirectory;
+    private TicketArchive columnarArchive;
+    private TicketArchive mappedArchive;
+    private TicketFilterDto filter;
+    private long[] closedIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        archiveDirectory = Files.createTempDirectory("ticket-archive-bench");
+        context = TicketDataSet.start(datasetSize,
+                "ticket.archive.enabled=false",
+                "ticket.archive.path=" + archiveDirectory.resolve("app"));
+        ticketRepository = context.getBean(TicketRepository.class);
+        columnarArchive = new ColumnarTicketArchive(archiveDirectory.resolve("columnar").toString());
+        mappedArchive = new MappedTicketArchive(archiveDirectory.resolve("mapped").toString());
+
+        // Copy every closed ticket into both archives; the table keeps them for the H2 path.
+        List<ArchivedTicket> closed = ticketRepository.findArchivable(
+                Status.CLOSED, TicketDataSet.NOW.plusYears(1), PageRequest.of(0, datasetSize));
+        for(int from = 0; from < closed.size(); from += ARCHIVE_BATCH_SIZE) {
+            List<ArchivedTicket> batch = closed.subList(from, Math.min(from + ARCHIVE_BATCH_SIZE, closed.size()));
+            columnarArchive.append(batch);
+            mappedArchive.append(batch);
+        }
+        closedIds = closed.stream().mapToLong(ArchivedTicket::id).toArray();
+
+        filter = new TicketFilterDto(List.of(Status.CLOSED),
+                TicketDataSet.NOW.minusDays(60), TicketDataSet.NOW.minusDays(30), TicketDataSet.agentName(7));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(archiveDirectory);
+    }
+
+    @Benchmark
+    public Optional<TicketDto> h2FindById() {
+        return ticketRepository.findDtosByIdIn(List.of(nextClosedId())).stream().findFirst();
+    }
+
+    @Benchmark
+    public Optional<ArchivedTicket> columnarFindById() {
+        return columnarArchive.findById(nextClosedId());
+    }
+
+    @Benchmark
+    public Optional<ArchivedTicket> mappedFindById() {
+        return mappedArchive.findById(nextClosedId());
+    }
+
+    @Benchmark
+    public List<TicketDto> h2Filter() {
+        return ticketRepository.findDtosWithFilters(filter.status(), filter.startDate(), filter.endDate(), filter.assignedAgent());
+    }
+
+    @Benchmark
+    public List<TicketDto> columnarFilter() {
+        return columnarArchive.find(filter);
+    }
+
+    @Benchmark
+    public List<TicketDto> mappedFilter() {
+        return mappedArchive.find(filter);
+    }
+
+    private long nextClosedId() {
+        return closedIds[(next++ & Integer.MAX_VALUE) % closedIds.length];
+    }
+}
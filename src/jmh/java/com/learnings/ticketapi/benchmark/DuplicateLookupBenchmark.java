@@ -0,0 +1,66 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.duplicate.DuplicateTicketIndex;
+import com.learnings.ticketapi.duplicate.SimHash;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.OptionalLong;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duplicate lookups against an index of open tickets, without the database: a lookup is the
+ * SimHash of the incoming description plus one bucket scan per band.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DuplicateLookupBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"100000", "1000000"})
+    private int openTickets;
+
+    private DuplicateTicketIndex index;
+    private long[] nearProbes;
+    private long[] missProbes;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        index = new DuplicateTicketIndex();
+        long[] fingerprints = new long[openTickets];
+        for(int id = 0; id < openTickets; id++) {
+            fingerprints[id] = random.nextLong();
+            index.put(id, fingerprints[id]);
+        }
+
+        nearProbes = new long[PROBES];
+        missProbes = new long[PROBES];
+        for(int i = 0; i < PROBES; i++) {
+            long fingerprint = fingerprints[random.nextInt(openTickets)];
+            for(int flip = 0; flip < DuplicateTicketIndex.MAX_DISTANCE; flip++) {
+                fingerprint ^= 1L << random.nextInt(Long.SIZE);
+            }
+            nearProbes[i] = fingerprint;
+            missProbes[i] = random.nextLong();
+        }
+    }
+
+    @Benchmark
+    public OptionalLong lookupDuplicate() {
+        return index.findNear(nearProbes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public OptionalLong lookupUnique() {
+        return index.findNear(missProbes[probe++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public long fingerprintDescription() {
+        return SimHash.of(TicketDataSet.TOPICS[(probe++ & Integer.MAX_VALUE) % TicketDataSet.TOPICS.length]);
+    }
+}
@@ -0,0 +1,125 @@
+package com.learnings.ticketapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires bursts of concurrent list requests, one connection each, at the blocking
+ * {@code /tickets} endpoint on platform and virtual threads and at the R2DBC-backed
+ * {@code /reactive/tickets} stream. Every request asks for the in-progress tickets created in
+ * a four-hour window, rotating the window so all requests read rows rather than one hot
+ * range. Each invocation is one burst; the returned value is the number of requests that
+ * were served, so refused connections and 503s show up next to the latency.
+ * <p>
+ * Every variant runs the {@code reactive} profile, so both paths read the same database and
+ * only the API differs. Tomcat's connection limits are raised above the burst size so the
+ * server, not its accept queue, is what is measured. 10k connections need a matching open
+ * file limit for the benchmark JVM ({@code ulimit -n 65536}); run with
+ * {@code ./gradlew jmh -PjmhIncludes=ReactiveLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReactiveLoadBenchmark {
+
+    private static final int WINDOW_COUNT = 60;
+    private static final int WINDOW_HOURS = 4;
+
+    public enum Api {
+        BLOCKING("/tickets", "application/json", "reactive"),
+        BLOCKING_VIRTUAL("/tickets", "application/json", "reactive,virtual"),
+        REACTIVE("/reactive/tickets", "application/x-ndjson", "reactive");
+
+        private final String path;
+        private final String accept;
+        private final String profiles;
+
+        Api(String path, String accept, String profiles) {
+            this.path = path;
+            this.accept = accept;
+            this.profiles = profiles;
+        }
+    }
+
+    @Param({"100000"})
+    private int datasetSize;
+
+    @Param({"BLOCKING", "BLOCKING_VIRTUAL", "REACTIVE"})
+    private Api api;
+
+    @Param({"1000", "10000"})
+    private int concurrentConnections;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private HttpRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = TicketDataSet.startServer(datasetSize,
+                "spring.profiles.active=" + api.profiles,
+                "server.tomcat.max-connections=" + (concurrentConnections * 2),
+                "server.tomcat.accept-count=" + concurrentConnections,
+                "server.tomcat.connection-timeout=PT60S");
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + api.path;
+        requests = new HttpRequest[WINDOW_COUNT];
+        for(int window = 0; window < WINDOW_COUNT; window++) {
+            String startDate = TicketDataSet.NOW.minusDays(window + 1).toString();
+            String endDate = TicketDataSet.NOW.minusDays(window + 1).plusHours(WINDOW_HOURS).toString();
+            requests[window] = HttpRequest.newBuilder(URI.create(baseUrl + "?status=IN_PROGRESS&startDate=" + startDate + "&endDate=" + endDate))
+                    .header("Accept", api.accept)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+        }
+
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrentConnections);
+        for(int i = 0; i < concurrentConnections; i++) {
+            HttpRequest request = requests[i % requests.length];
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+
+        int served = 0;
+        for(Future<Integer> response : responses) {
+            try {
+                if(response.get() == 200) {
+                    served++;
+                }
+            } catch (ExecutionException ex) {
+                // Refused or timed out under load; counted as not served.
+            }
+        }
+        return served;
+    }
+}
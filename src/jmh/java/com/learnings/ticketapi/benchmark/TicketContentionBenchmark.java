@@ -0,0 +1,95 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.exception.InvalidTicketStateException;
+import com.learnings.ticketapi.exception.TicketConflictException;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures single-ticket writes when several threads race for the same rows. With
+ * {@code contention = n}, every group of n consecutive invocations targets the same ticket,
+ * so one assignment wins and the others lose the conditional UPDATE, retry, and see the new
+ * state. The returned outcome keeps wins, lost races and exhausted retries distinguishable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class TicketContentionBenchmark {
+
+    public enum Outcome {
+        APPLIED,
+        LOST_RACE,
+        CONFLICT
+    }
+
+    private static final int HOT_TICKETS = 64;
+
+    @Param({"100000"})
+    private int datasetSize;
+
+    @Param({"1", "4", "8"})
+    private int contention;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private JdbcTemplate jdbcTemplate;
+    private final AtomicLong invocations = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = TicketDataSet.start(datasetSize);
+        ticketService = context.getBean(TicketService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetNewTickets() {
+        // The seeder makes every fourth ticket NEW; put them back so each iteration races on fresh rows.
+        jdbcTemplate.update("UPDATE ticket SET status = ?, assigned_agent_id = NULL, version = version + 1 WHERE MOD(id, 4) = 0",
+                Status.NEW.name());
+        invocations.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Outcome contendedAssign() {
+        long invocation = invocations.getAndIncrement();
+        long newTicketCount = datasetSize / 4;
+        long ticketId = 4 * ((invocation / contention) % newTicketCount + 1);
+        Long agentId = invocation % TicketDataSet.AGENT_COUNT + 1;
+
+        try {
+            ticketService.assignAgentToTicket(ticketId, agentId);
+            return Outcome.APPLIED;
+        } catch (InvalidTicketStateException ex) {
+            return Outcome.LOST_RACE;
+        } catch (TicketConflictException ex) {
+            return Outcome.CONFLICT;
+        }
+    }
+
+    @Benchmark
+    public Outcome contendedUpdate() {
+        long invocation = invocations.getAndIncrement();
+        long ticketId = 4 * ((invocation / contention) % HOT_TICKETS + 1);
+
+        try {
+            ticketService.updateTicket(ticketId, new TicketDto(ticketId, "Edit " + invocation, null, null, null, null, null));
+            return Outcome.APPLIED;
+        } catch (TicketConflictException ex) {
+            return Outcome.CONFLICT;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.TicketApiApplication;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.model.Ticket;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with a
+ * deterministic ticket population so benchmark runs are comparable.
+ */
+public final class TicketDataSet {
+
+    public static final int AGENT_COUNT = 20;
+    public static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+    public static final int CREATED_DATE_SPREAD_DAYS = 365;
+
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final Status[] STATUSES = Status.values();
+    public static final String[] TOPICS = {
+            "VPN timeout when connecting from home",
+            "Printer offline on the third floor",
+            "Password reset link expired",
+            "Email sync failure on mobile",
+            "Disk quota exceeded on shared drive",
+            "VPN client crashes after update",
+            "Laptop battery drains overnight",
+            "Calendar invites missing attendees",
+            "Slow network in meeting rooms",
+            "Account locked after failed logins",
+            "Monitor flickers when docked",
+    };
+
+    private TicketDataSet() {}
+
+    public static ConfigurableApplicationContext start(int ticketCount, String... extraProperties) {
+        return start(WebApplicationType.NONE, ticketCount, extraProperties);
+    }
+
+    /**
+     * Same as {@link #start(int, String...)} but also starts the embedded web server on a
+     * random port, exposed as {@code local.server.port}.
+     */
+    public static ConfigurableApplicationContext startServer(int ticketCount, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of("server.port=0"));
+        properties.addAll(List.of(extraProperties));
+        return start(WebApplicationType.SERVLET, ticketCount, properties.toArray(new String[0]));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, int ticketCount, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN"
+        ));
+        properties.addAll(List.of(extraProperties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketApiApplication.class)
+                .web(webApplicationType)
+                .properties(properties.toArray(new String[0]))
+                .run();
+
+        seed(context.getBean(JdbcTemplate.class), ticketCount);
+        return context;
+    }
+
+    public static String agentName(int agentId) {
+        return String.format("Agent%03d", agentId);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int ticketCount) {
+        List<Object[]> agents = new ArrayList<>();
+        for(int agentId = 1; agentId <= AGENT_COUNT; agentId++) {
+            agents.add(new Object[]{agentId, agentName(agentId)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO agent (id, name) VALUES (?, ?)", agents);
+
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for(long id = 1; id <= ticketCount; id++) {
+            batch.add(ticketRow(id));
+            if(batch.size() == INSERT_BATCH_SIZE) {
+                insertTickets(jdbcTemplate, batch);
+                batch.clear();
+            }
+        }
+        if(!batch.isEmpty()) {
+            insertTickets(jdbcTemplate, batch);
+        }
+
+        // The pooled optimizer hands out (value - allocationSize, value], so restart one
+        // allocation past the seeded ids.
+        jdbcTemplate.execute("ALTER SEQUENCE " + Ticket.ID_SEQUENCE + " RESTART WITH " + (ticketCount + Ticket.ID_ALLOCATION_SIZE));
+    }
+
+    private static Object[] ticketRow(long id) {
+        Status status = STATUSES[(int) (id % STATUSES.length)];
+        LocalDateTime createdDate = NOW.minusMinutes(id % (CREATED_DATE_SPREAD_DAYS * 24L * 60L));
+        Long agentId = status == Status.NEW ? null : (id % AGENT_COUNT) + 1;
+        String resolutionSummary = status == Status.RESOLVED || status == Status.CLOSED ? "Resolved " + id : null;
+        Timestamp closedDate = status == Status.CLOSED ? Timestamp.valueOf(createdDate.plusHours(4)) : null;
+
+        String description = "Seeded ticket " + id + ": " + TOPICS[(int) (id % TOPICS.length)];
+        return new Object[]{id, description, status.name(), Timestamp.valueOf(createdDate), closedDate, resolutionSummary, agentId};
+    }
+
+    private static void insertTickets(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ticket (id, description, status, created_date, closed_date, resolution_summary, assigned_agent_id) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                batch);
+    }
+}
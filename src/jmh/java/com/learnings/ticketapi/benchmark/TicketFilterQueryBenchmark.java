@@ -0,0 +1,87 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs findWithFilters (entity path) and findDtosWithFilters (projection path) for every
+ * predicate combination built by TicketFilterRepositoryImpl.buildPredicates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TicketFilterQueryBenchmark {
+
+    public enum DateRange { NONE, START_ONLY, END_ONLY, BETWEEN }
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"false", "true"})
+    private boolean statusFilter;
+
+    @Param
+    private DateRange dateRange;
+
+    @Param({"false", "true"})
+    private boolean agentFilter;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private List<Status> statuses;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String assignedAgent;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = TicketDataSet.start(datasetSize);
+        ticketRepository = context.getBean(TicketRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+
+        statuses = statusFilter ? List.of(Status.NEW, Status.IN_PROGRESS) : null;
+        LocalDateTime monthAgo = TicketDataSet.NOW.minusDays(30);
+        switch (dateRange) {
+            case START_ONLY -> startDate = monthAgo;
+            case END_ONLY -> endDate = monthAgo;
+            case BETWEEN -> {
+                startDate = monthAgo;
+                endDate = TicketDataSet.NOW;
+            }
+            case NONE -> {
+            }
+        }
+        assignedAgent = agentFilter ? TicketDataSet.agentName(1) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findWithFilters() {
+        List<Ticket> tickets = transactionTemplate.execute(status ->
+                ticketRepository.findWithFilters(statuses, startDate, endDate, assignedAgent));
+        return tickets.size();
+    }
+
+    @Benchmark
+    public int findDtosWithFilters() {
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(statuses, startDate, endDate, assignedAgent);
+        return tickets.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.learnings.ticketapi.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires bursts of concurrent filter requests at a running server and compares the default
+ * platform-thread Tomcat pool with the {@code virtual} profile. Each invocation is one burst;
+ * the returned value is the number of requests that were served, so shed load (503s from the
+ * JDBC concurrency gate) shows up next to the latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TicketLoadBenchmark {
+
+    public enum ThreadModel {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    @Param({"100000"})
+    private int datasetSize;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ThreadModel threadModel;
+
+    @Param({"100", "1000"})
+    private int concurrentRequests;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clients;
+    private HttpClient httpClient;
+    private URI[] requests;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = threadModel == ThreadModel.VIRTUAL
+                ? TicketDataSet.startServer(datasetSize, "spring.profiles.active=virtual")
+                : TicketDataSet.startServer(datasetSize);
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tickets/page";
+        requests = new URI[TicketDataSet.AGENT_COUNT];
+        for(int agentId = 1; agentId <= TicketDataSet.AGENT_COUNT; agentId++) {
+            requests[agentId - 1] = URI.create(baseUrl + "?status=IN_PROGRESS&assignedAgent=" + TicketDataSet.agentName(agentId) + "&size=50");
+        }
+
+        clients = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .executor(clients)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clients.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int burst() throws Exception {
+        List<Future<Integer>> responses = new ArrayList<>(concurrentRequests);
+        for(int i = 0; i < concurrentRequests; i++) {
+            HttpRequest request = HttpRequest.newBuilder(requests[i % requests.length]).GET().build();
+            responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+
+        int served = 0;
+        for(Future<Integer> response : responses) {
+            if(response.get() == 200) {
+                served++;
+            }
+        }
+        return served;
+    }
+}
@@ -0,0 +1,55 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.search.TicketSearchIndex;
+import com.learnings.ticketapi.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int datasetSize;
+
+    @Param({"vpn timeout", "\"password reset\"", "printer -floor"})
+    private String query;
+
+    @Param({"false", "true"})
+    private boolean statusFilter;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private TicketFilterDto filter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = TicketDataSet.start(datasetSize);
+        // The seeder writes through JDBC after startup, so index what it wrote.
+        context.getBean(TicketSearchIndex.class).rebuild();
+        ticketService = context.getBean(TicketService.class);
+        filter = new TicketFilterDto(statusFilter ? List.of(Status.NEW, Status.IN_PROGRESS) : null, null, null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketSearchPageDto firstPage() {
+        return ticketService.searchTickets(query, filter, 0, 50);
+    }
+
+    @Benchmark
+    public TicketSearchPageDto deepPage() {
+        return ticketService.searchTickets(query, filter, 20, 50);
+    }
+}
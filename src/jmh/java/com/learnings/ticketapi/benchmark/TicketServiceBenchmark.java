@@ -0,0 +1,52 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TicketServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int datasetSize;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private long agentSequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = TicketDataSet.start(datasetSize);
+        ticketService = context.getBean(TicketService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketDto createTicket() {
+        return ticketService.createTicket(newTicket()).ticket();
+    }
+
+    @Benchmark
+    public TicketDto stateMachineWalk() {
+        TicketDto created = ticketService.createTicket(newTicket()).ticket();
+        Long agentId = (agentSequence++ % TicketDataSet.AGENT_COUNT) + 1;
+
+        ticketService.assignAgentToTicket(created.id(), agentId);
+        ticketService.updateTicket(created.id(), new TicketDto(created.id(), created.description(), null, null, null, null, "Benchmark resolution."));
+        ticketService.resolveTicket(created.id());
+        return ticketService.closeTicket(created.id());
+    }
+
+    private TicketDto newTicket() {
+        return new TicketDto(null, "Benchmark ticket", null, null, null, null, null);
+    }
+}
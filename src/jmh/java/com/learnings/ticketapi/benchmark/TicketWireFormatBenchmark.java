@@ -0,0 +1,115 @@
+package com.learnings.ticketapi.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.wire.TicketCbor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a ticket list response as JSON, configured like the application's
+ * ObjectMapper, and as {@value TicketCbor#MEDIA_TYPE_VALUE}, plain and gzipped as the list
+ * payload cache stores them. The gzipped variants are what a payload cache miss costs; a hit
+ * only copies the stored bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TicketWireFormatBenchmark {
+
+    private static final TypeReference<List<TicketDto>> TICKET_LIST = new TypeReference<>() {};
+
+    @Param({"1000", "100000"})
+    private int ticketCount;
+
+    private ObjectMapper objectMapper;
+    private List<TicketDto> tickets;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        SplittableRandom random = new SplittableRandom(42);
+        Status[] statuses = Status.values();
+        tickets = new ArrayList<>(ticketCount);
+        for(long id = 1; id <= ticketCount; id++) {
+            Status status = statuses[random.nextInt(statuses.length)];
+            boolean closed = status == Status.CLOSED;
+            tickets.add(new TicketDto(
+                    id,
+                    TicketDataSet.TOPICS[random.nextInt(TicketDataSet.TOPICS.length)] + " #" + id,
+                    status,
+                    TicketDataSet.NOW.minusSeconds(random.nextInt(TicketDataSet.CREATED_DATE_SPREAD_DAYS * 86_400)),
+                    closed ? TicketDataSet.NOW : null,
+                    status == Status.NEW ? null : TicketDataSet.agentName(1 + random.nextInt(TicketDataSet.AGENT_COUNT)),
+                    status == Status.RESOLVED || closed ? "Fixed and verified with the reporter" : null));
+        }
+
+        json = encodeJson();
+        cbor = encodeCbor();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return objectMapper.writeValueAsBytes(tickets);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TicketCbor.Writer writer = TicketCbor.writer(out);
+        for(TicketDto ticket : tickets) {
+            writer.write(ticket);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeJsonGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(objectMapper.writeValueAsBytes(tickets));
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] encodeCborGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            TicketCbor.Writer writer = TicketCbor.writer(gzip);
+            for(TicketDto ticket : tickets) {
+                writer.write(ticket);
+            }
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<TicketDto> decodeJson() throws IOException {
+        return objectMapper.readValue(json, TICKET_LIST);
+    }
+
+    @Benchmark
+    public List<TicketDto> decodeCbor() throws IOException {
+        return TicketCbor.read(new ByteArrayInputStream(cbor));
+    }
+}
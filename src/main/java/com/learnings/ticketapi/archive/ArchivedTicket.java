@@ -0,0 +1,23 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * A closed ticket as stored in the {@link TicketArchive}. The version is kept so archived
+ * tickets keep answering conditional requests with the ETag they last had.
+ */
+public record ArchivedTicket(Long id,
+                             String description,
+                             LocalDateTime createdDate,
+                             LocalDateTime closedDate,
+                             String assignedAgent,
+                             String resolutionSummary,
+                             Long version) {
+
+    public TicketDto toDto() {
+        return new TicketDto(id, description, Status.CLOSED, createdDate, closedDate, assignedAgent, resolutionSummary);
+    }
+}
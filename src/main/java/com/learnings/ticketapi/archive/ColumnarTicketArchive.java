@@ -0,0 +1,106 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link TicketArchive} kept as a directory of {@link TicketSegment} files on local disk, one
+ * per append. Only segment headers are held in memory; a read loads just the segments whose
+ * id or created-date range can match and inflates the columns it needs.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.archive.format", havingValue = "columnar", matchIfMissing = true)
+public class ColumnarTicketArchive implements TicketArchive {
+
+    static final String SEGMENT_SUFFIX = ".tca";
+
+    private final Path directory;
+    private final List<SegmentFile> segments = new CopyOnWriteArrayList<>();
+
+    public ColumnarTicketArchive(@Value("${ticket.archive.path:data/ticket-archive}") String path) throws IOException {
+        this.directory = Files.createDirectories(Path.of(path));
+        for(Path file : SegmentFiles.list(directory, SEGMENT_SUFFIX)) {
+            segments.add(new SegmentFile(file, readHeader(file)));
+        }
+    }
+
+    @Override
+    public synchronized void append(List<ArchivedTicket> tickets) {
+        if(tickets.isEmpty()) {
+            return;
+        }
+        byte[] segment = TicketSegment.encode(tickets);
+        Path file = SegmentFiles.name(directory, segments.size(), SEGMENT_SUFFIX);
+        SegmentFiles.write(file, segment);
+        segments.add(new SegmentFile(file, TicketSegment.Header.read(ByteBuffer.wrap(segment))));
+    }
+
+    @Override
+    public Optional<ArchivedTicket> findById(Long ticketId) {
+        for(SegmentFile segment : segments) {
+            if(segment.header().mayContain(ticketId)) {
+                Optional<ArchivedTicket> ticket = load(segment).findById(ticketId);
+                if(ticket.isPresent()) {
+                    return ticket;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<TicketDto> find(TicketFilterDto ticketFilterDto) {
+        List<TicketDto> tickets = new ArrayList<>();
+        Set<Long> ticketIds = new HashSet<>();
+        for(SegmentFile segment : segments) {
+            if(segment.header().mayMatch(ticketFilterDto)) {
+                load(segment).find(ticketFilterDto).stream()
+                        .filter(ticket -> ticketIds.add(ticket.id()))
+                        .forEach(ticket -> tickets.add(ticket.toDto()));
+            }
+        }
+        tickets.sort(Comparator.comparing(TicketDto::createdDate).thenComparing(TicketDto::id));
+        return tickets;
+    }
+
+    @Override
+    public long size() {
+        return segments.stream()
+                .mapToLong(segment -> segment.header().rowCount())
+                .sum();
+    }
+
+    private TicketSegment load(SegmentFile segment) {
+        try {
+            return new TicketSegment(ByteBuffer.wrap(Files.readAllBytes(segment.file())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static TicketSegment.Header readHeader(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return TicketSegment.Header.read(ByteBuffer.wrap(in.readNBytes(TicketSegment.HEADER_BYTES)));
+        }
+    }
+
+    private record SegmentFile(Path file, TicketSegment.Header header) {
+    }
+}
@@ -0,0 +1,261 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-optimized archive segment made of fixed-width records, meant to be memory-mapped:
+ * <pre>
+ * header   magic:int rowCount:int agentCount:int heapOffset:int
+ *          minId:long maxId:long minCreatedDate:long maxCreatedDate:long
+ * agents   (heapOffset:int length:int) per agent
+ * records  {@link #RECORD_BYTES} per ticket, sorted by id
+ * heap     UTF-8 agent names, descriptions and resolution summaries
+ * </pre>
+ * Every field sits at a fixed offset, so lookups binary-search the id field and filters
+ * compare the status, created-date and agent fields in place; strings are only copied out of
+ * the heap for the rows that are returned. Dates are epoch microseconds, the precision of the
+ * ticket table, and null dates and strings are stored as {@link #NULL_DATE} and a length of -1.
+ */
+final class MappedSegment {
+
+    static final int MAGIC = 0x544D5331; // "TMS1"
+
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + 4 * Long.BYTES;
+    private static final int AGENT_ENTRY_BYTES = 2 * Integer.BYTES;
+
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int CREATED_DATE = 16;
+    private static final int CLOSED_DATE = 24;
+    private static final int STATUS = 32;
+    private static final int AGENT = 36;
+    private static final int DESCRIPTION = 40;
+    private static final int RESOLUTION_SUMMARY = 48;
+    static final int RECORD_BYTES = 56;
+
+    private static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int NO_AGENT = -1;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final ByteBuffer data;
+    private final int rowCount;
+    private final int agentCount;
+    private final int recordsOffset;
+    private final int heapOffset;
+    private final long minId;
+    private final long maxId;
+    private final long minCreatedDate;
+    private final long maxCreatedDate;
+
+    MappedSegment(ByteBuffer data) {
+        if(data.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a mapped ticket archive segment");
+        }
+        this.data = data;
+        this.rowCount = data.getInt(Integer.BYTES);
+        this.agentCount = data.getInt(2 * Integer.BYTES);
+        this.heapOffset = data.getInt(3 * Integer.BYTES);
+        this.minId = data.getLong(4 * Integer.BYTES);
+        this.maxId = data.getLong(4 * Integer.BYTES + Long.BYTES);
+        this.minCreatedDate = data.getLong(4 * Integer.BYTES + 2 * Long.BYTES);
+        this.maxCreatedDate = data.getLong(4 * Integer.BYTES + 3 * Long.BYTES);
+        this.recordsOffset = HEADER_BYTES + agentCount * AGENT_ENTRY_BYTES;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    Optional<ArchivedTicket> findById(long ticketId) {
+        if(ticketId < minId || ticketId > maxId) {
+            return Optional.empty();
+        }
+        int low = 0;
+        int high = rowCount - 1;
+        while(low <= high) {
+            int row = (low + high) >>> 1;
+            long id = data.getLong(record(row) + ID);
+            if(id < ticketId) {
+                low = row + 1;
+            } else if(id > ticketId) {
+                high = row - 1;
+            } else {
+                return Optional.of(read(row));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Passes every ticket matching the filter to the consumer, in id order.
+     */
+    void scan(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer) {
+        int statusMask = statusMask(ticketFilterDto.status());
+        long from = ticketFilterDto.startDate() == null ? Long.MIN_VALUE : toMicros(ticketFilterDto.startDate());
+        long to = ticketFilterDto.endDate() == null ? Long.MAX_VALUE : toMicros(ticketFilterDto.endDate());
+        if(maxCreatedDate < from || minCreatedDate > to) {
+            return;
+        }
+
+        boolean anyAgent = ticketFilterDto.assignedAgent() == null || ticketFilterDto.assignedAgent().trim().isEmpty();
+        int agent = anyAgent ? NO_AGENT : agentCode(ticketFilterDto.assignedAgent());
+        if(!anyAgent && agent == NO_AGENT) {
+            return;
+        }
+
+        for(int row = 0; row < rowCount; row++) {
+            int record = record(row);
+            long createdDate = data.getLong(record + CREATED_DATE);
+            if(createdDate < from || createdDate > to
+                    || (statusMask & (1 << data.getInt(record + STATUS))) == 0
+                    || (!anyAgent && data.getInt(record + AGENT) != agent)) {
+                continue;
+            }
+            consumer.accept(read(row).toDto());
+        }
+    }
+
+    private ArchivedTicket read(int row) {
+        int record = record(row);
+        int agent = data.getInt(record + AGENT);
+        long closedDate = data.getLong(record + CLOSED_DATE);
+        return new ArchivedTicket(
+                data.getLong(record + ID),
+                string(data.getInt(record + DESCRIPTION), data.getInt(record + DESCRIPTION + Integer.BYTES)),
+                fromMicros(data.getLong(record + CREATED_DATE)),
+                closedDate == NULL_DATE ? null : fromMicros(closedDate),
+                agent == NO_AGENT ? null : agentName(agent),
+                string(data.getInt(record + RESOLUTION_SUMMARY), data.getInt(record + RESOLUTION_SUMMARY + Integer.BYTES)),
+                data.getLong(record + VERSION));
+    }
+
+    private int agentCode(String name) {
+        byte[] wanted = name.getBytes(StandardCharsets.UTF_8);
+        for(int agent = 0; agent < agentCount; agent++) {
+            int entry = HEADER_BYTES + agent * AGENT_ENTRY_BYTES;
+            int offset = heapOffset + data.getInt(entry);
+            int length = data.getInt(entry + Integer.BYTES);
+            if(length == wanted.length && data.slice(offset, length).equals(ByteBuffer.wrap(wanted))) {
+                return agent;
+            }
+        }
+        return NO_AGENT;
+    }
+
+    private String agentName(int agent) {
+        int entry = HEADER_BYTES + agent * AGENT_ENTRY_BYTES;
+        return string(data.getInt(entry), data.getInt(entry + Integer.BYTES));
+    }
+
+    private String string(int offset, int length) {
+        if(length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.get(heapOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int record(int row) {
+        return recordsOffset + row * RECORD_BYTES;
+    }
+
+    private static int statusMask(List<Status> statuses) {
+        if(statuses == null || statuses.isEmpty()) {
+            return -1;
+        }
+        int mask = 0;
+        for(Status status : statuses) {
+            mask |= 1 << status.ordinal();
+        }
+        return mask;
+    }
+
+    static byte[] encode(List<ArchivedTicket> tickets) {
+        List<ArchivedTicket> rows = tickets.stream()
+                .sorted(Comparator.comparing(ArchivedTicket::id))
+                .toList();
+
+        ByteArrayOutputStream heap = new ByteArrayOutputStream();
+        Map<String, long[]> agents = new LinkedHashMap<>();
+        for(ArchivedTicket ticket : rows) {
+            if(ticket.assignedAgent() != null) {
+                agents.computeIfAbsent(ticket.assignedAgent(), name -> new long[]{agents.size(), append(heap, name)});
+            }
+        }
+
+        int recordsOffset = HEADER_BYTES + agents.size() * AGENT_ENTRY_BYTES;
+        ByteBuffer records = ByteBuffer.allocate(rows.size() * RECORD_BYTES);
+        long minCreatedDate = Long.MAX_VALUE;
+        long maxCreatedDate = Long.MIN_VALUE;
+        for(ArchivedTicket ticket : rows) {
+            long createdDate = toMicros(ticket.createdDate());
+            minCreatedDate = Math.min(minCreatedDate, createdDate);
+            maxCreatedDate = Math.max(maxCreatedDate, createdDate);
+
+            records.putLong(ticket.id())
+                    .putLong(ticket.version() == null ? 0 : ticket.version())
+                    .putLong(createdDate)
+                    .putLong(ticket.closedDate() == null ? NULL_DATE : toMicros(ticket.closedDate()))
+                    .putInt(Status.CLOSED.ordinal())
+                    .putInt(ticket.assignedAgent() == null ? NO_AGENT : (int) agents.get(ticket.assignedAgent())[0])
+                    .putLong(append(heap, ticket.description()))
+                    .putLong(append(heap, ticket.resolutionSummary()));
+        }
+
+        int heapOffset = recordsOffset + records.capacity();
+        ByteBuffer segment = ByteBuffer.allocate(heapOffset + heap.size())
+                .putInt(MAGIC)
+                .putInt(rows.size())
+                .putInt(agents.size())
+                .putInt(heapOffset)
+                .putLong(rows.get(0).id())
+                .putLong(rows.get(rows.size() - 1).id())
+                .putLong(minCreatedDate)
+                .putLong(maxCreatedDate);
+        for(long[] agent : agents.values()) {
+            segment.putLong(agent[1]);
+        }
+        segment.put(records.array());
+        segment.put(heap.toByteArray());
+        return segment.array();
+    }
+
+    /**
+     * Appends the string to the heap.
+     *
+     * @return its heap offset and length packed as two ints, the layout records and agents use
+     */
+    private static long append(ByteArrayOutputStream heap, String value) {
+        if(value == null) {
+            return -1L & 0xFFFFFFFFL;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long offsetAndLength = ((long) heap.size() << 32) | (bytes.length & 0xFFFFFFFFL);
+        heap.writeBytes(bytes);
+        return offsetAndLength;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+}
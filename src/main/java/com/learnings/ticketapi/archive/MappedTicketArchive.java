@@ -0,0 +1,102 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link TicketArchive} kept as a directory of {@link MappedSegment} files, each mapped
+ * read-only into memory once and then read in place, so archive reads cost no file I/O or
+ * decompression beyond the page cache and only copy out the tickets they return. Chosen with
+ * {@code ticket.archive.format=mapped}; it trades the columnar format's compression for reads
+ * that go straight to the bytes.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.archive.format", havingValue = "mapped")
+public class MappedTicketArchive implements TicketArchive {
+
+    static final String SEGMENT_SUFFIX = ".tms";
+
+    private final Path directory;
+    private final List<MappedSegment> segments = new CopyOnWriteArrayList<>();
+
+    public MappedTicketArchive(@Value("${ticket.archive.path:data/ticket-archive}") String path) throws IOException {
+        this.directory = Files.createDirectories(Path.of(path));
+        for(Path file : SegmentFiles.list(directory, SEGMENT_SUFFIX)) {
+            segments.add(map(file));
+        }
+    }
+
+    @Override
+    public synchronized void append(List<ArchivedTicket> tickets) {
+        if(tickets.isEmpty()) {
+            return;
+        }
+        Path file = SegmentFiles.name(directory, segments.size(), SEGMENT_SUFFIX);
+        SegmentFiles.write(file, MappedSegment.encode(tickets));
+        try {
+            segments.add(map(file));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public Optional<ArchivedTicket> findById(Long ticketId) {
+        for(MappedSegment segment : segments) {
+            Optional<ArchivedTicket> ticket = segment.findById(ticketId);
+            if(ticket.isPresent()) {
+                return ticket;
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<TicketDto> find(TicketFilterDto ticketFilterDto) {
+        if(!TicketArchive.covers(ticketFilterDto)) {
+            return List.of();
+        }
+        List<TicketDto> tickets = new ArrayList<>();
+        Set<Long> ticketIds = new HashSet<>();
+        for(MappedSegment segment : segments) {
+            segment.scan(ticketFilterDto, ticket -> {
+                if(ticketIds.add(ticket.id())) {
+                    tickets.add(ticket);
+                }
+            });
+        }
+        tickets.sort(Comparator.comparing(TicketDto::createdDate).thenComparing(TicketDto::id));
+        return tickets;
+    }
+
+    @Override
+    public long size() {
+        return segments.stream()
+                .mapToLong(MappedSegment::rowCount)
+                .sum();
+    }
+
+    // The mapping stays valid after the channel is closed, until the buffer is collected.
+    private static MappedSegment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MappedSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.learnings.ticketapi.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * File handling shared by the {@link TicketArchive} implementations, which each keep a
+ * directory of immutable segment files named so that they sort in append order.
+ */
+final class SegmentFiles {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-\\d{12}\\.[a-z]+");
+
+    private SegmentFiles() {}
+
+    /**
+     * Lists the directory's segments of one format in append order. A directory that also holds
+     * another format's segments fails, since each implementation would silently see only its
+     * own half of the archive.
+     */
+    static List<Path> list(Path directory, String suffix) throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+        for(Path segment : segments) {
+            if(!segment.getFileName().toString().endsWith(suffix)) {
+                throw new IllegalStateException(("Ticket archive directory %s holds %s, a segment of another format; "
+                        + "give each ticket.archive.format its own ticket.archive.path").formatted(directory, segment.getFileName()));
+            }
+        }
+        return segments;
+    }
+
+    static Path name(Path directory, int sequence, String suffix) {
+        return directory.resolve("segment-%012d%s".formatted(sequence, suffix));
+    }
+
+    /**
+     * Writes the segment to a temporary file, forces it to disk and renames it into place, so a
+     * crash never leaves a partial segment behind.
+     */
+    static void write(Path file, byte[] segment) {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(segment);
+                while(buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
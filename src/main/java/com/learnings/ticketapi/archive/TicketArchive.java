@@ -0,0 +1,43 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Append-only cold store for tickets that were closed long enough ago to be moved out of the
+ * ticket table by {@link TicketArchiver}. Archived tickets are immutable, so reads never need
+ * to coordinate with writes beyond seeing whole appends.
+ */
+public interface TicketArchive {
+
+    /**
+     * Durably stores the tickets before returning, so the caller may delete them from the table.
+     */
+    void append(List<ArchivedTicket> tickets);
+
+    Optional<ArchivedTicket> findById(Long ticketId);
+
+    /**
+     * @return the archived tickets matching the filter, ordered by created date and id. A ticket
+     * appended again after a crash between append and delete is returned once.
+     */
+    List<TicketDto> find(TicketFilterDto ticketFilterDto);
+
+    /**
+     * @return the number of tickets appended so far; it only grows, so it versions the archive
+     */
+    long size();
+
+    /**
+     * Only closed tickets are archived, so a filter without {@link Status#CLOSED} never needs the archive.
+     */
+    static boolean covers(TicketFilterDto ticketFilterDto) {
+        return ticketFilterDto.status() == null
+                || ticketFilterDto.status().isEmpty()
+                || ticketFilterDto.status().contains(Status.CLOSED);
+    }
+}
@@ -0,0 +1,76 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves tickets closed for longer than {@code ticket.archive.closed-after} from the ticket table
+ * into the {@link TicketArchive}. Each batch is read, appended and deleted in one transaction,
+ * and the append is durable before the delete, so a ticket is never lost; a crash in between
+ * leaves it in both places, where reads prefer the table. Every batch publishes a
+ * {@link TicketsArchivedEvent} so the in-memory views of the table drop the tickets when it
+ * commits.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.archive.enabled", havingValue = "true")
+public class TicketArchiver {
+
+    private final TicketRepository ticketRepository;
+    private final TicketArchive ticketArchive;
+    private final TransactionOperations transactionOperations;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration closedAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public TicketArchiver(TicketRepository ticketRepository,
+                          TicketArchive ticketArchive,
+                          TransactionOperations transactionOperations,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${ticket.archive.closed-after:P30D}") Duration closedAfter,
+                          @Value("${ticket.archive.batch-size:10000}") int batchSize,
+                          @Value("${ticket.archive.max-batches-per-run:100}") int maxBatchesPerRun) {
+        this.ticketRepository = ticketRepository;
+        this.ticketArchive = ticketArchive;
+        this.transactionOperations = transactionOperations;
+        this.eventPublisher = eventPublisher;
+        this.closedAfter = closedAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(initialDelayString = "${ticket.archive.interval:PT1H}", fixedDelayString = "${ticket.archive.interval:PT1H}")
+    public void archive() {
+        LocalDateTime closedBefore = LocalDateTime.now().minus(closedAfter);
+        for(int run = 0; run < maxBatchesPerRun; run++) {
+            Integer archived = transactionOperations.execute(status -> archiveBatch(closedBefore));
+            if(archived == null || archived < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int archiveBatch(LocalDateTime closedBefore) {
+        List<ArchivedTicket> batch = ticketRepository.findArchivable(Status.CLOSED, closedBefore, PageRequest.of(0, batchSize));
+        if(batch.isEmpty()) {
+            return 0;
+        }
+        List<Long> ticketIds = batch.stream().map(ArchivedTicket::id).toList();
+        ticketArchive.append(batch);
+        eventPublisher.publishEvent(new TicketsArchivedEvent(ticketIds, ticketRepository.countByStatusAndAgentByIdIn(ticketIds)));
+        ticketRepository.deleteAllByIdInBatch(ticketIds);
+        return batch.size();
+    }
+}
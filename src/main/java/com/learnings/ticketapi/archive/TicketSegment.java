@@ -0,0 +1,374 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable batch of archived tickets, stored column by column with every column deflated
+ * on its own:
+ * <pre>
+ * magic:int rowCount:int minId:long maxId:long minCreatedDate:long maxCreatedDate:long
+ * (compressedLength:int rawLength:int) per column
+ * column bytes, in column order
+ * </pre>
+ * Rows are sorted by id. Ids and created dates are delta-encoded varints, closed dates are
+ * stored relative to the created date and agents through a per-segment dictionary, so most
+ * columns take a byte or two per row before compression. The header alone decides whether a
+ * lookup or filter can skip the segment, and a filter inflates only the created-date and agent
+ * columns until it knows that some row matches.
+ */
+final class TicketSegment {
+
+    static final int MAGIC = 0x54434131; // "TCA1"
+
+    private static final int ID = 0;
+    private static final int VERSION = 1;
+    private static final int CREATED_DATE = 2;
+    private static final int CLOSED_DATE = 3;
+    private static final int ASSIGNED_AGENT = 4;
+    private static final int DESCRIPTION = 5;
+    private static final int RESOLUTION_SUMMARY = 6;
+    static final int COLUMNS = 7;
+
+    static final int HEADER_BYTES = 2 * Integer.BYTES + 4 * Long.BYTES + COLUMNS * 2 * Integer.BYTES;
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    record Header(int rowCount,
+                  long minId,
+                  long maxId,
+                  long minCreatedDate,
+                  long maxCreatedDate,
+                  int[] compressedLengths,
+                  int[] rawLengths) {
+
+        static Header read(ByteBuffer data) {
+            if(data.getInt(0) != MAGIC) {
+                throw new IllegalStateException("Not a ticket archive segment");
+            }
+            int[] compressedLengths = new int[COLUMNS];
+            int[] rawLengths = new int[COLUMNS];
+            int offset = 2 * Integer.BYTES + 4 * Long.BYTES;
+            for(int column = 0; column < COLUMNS; column++) {
+                compressedLengths[column] = data.getInt(offset);
+                rawLengths[column] = data.getInt(offset + Integer.BYTES);
+                offset += 2 * Integer.BYTES;
+            }
+            return new Header(data.getInt(Integer.BYTES),
+                    data.getLong(2 * Integer.BYTES),
+                    data.getLong(2 * Integer.BYTES + Long.BYTES),
+                    data.getLong(2 * Integer.BYTES + 2 * Long.BYTES),
+                    data.getLong(2 * Integer.BYTES + 3 * Long.BYTES),
+                    compressedLengths,
+                    rawLengths);
+        }
+
+        boolean mayContain(long ticketId) {
+            return ticketId >= minId && ticketId <= maxId;
+        }
+
+        boolean mayMatch(TicketFilterDto ticketFilterDto) {
+            if(!TicketArchive.covers(ticketFilterDto)) {
+                return false;
+            }
+            if(ticketFilterDto.startDate() != null && maxCreatedDate < toMicros(ticketFilterDto.startDate())) {
+                return false;
+            }
+            return ticketFilterDto.endDate() == null || minCreatedDate <= toMicros(ticketFilterDto.endDate());
+        }
+
+        int columnOffset(int column) {
+            int offset = HEADER_BYTES;
+            for(int previous = 0; previous < column; previous++) {
+                offset += compressedLengths[previous];
+            }
+            return offset;
+        }
+
+        int segmentBytes() {
+            return columnOffset(COLUMNS);
+        }
+    }
+
+    private final ByteBuffer data;
+    private final Header header;
+
+    TicketSegment(ByteBuffer data) {
+        this.data = data;
+        this.header = Header.read(data);
+    }
+
+    Header header() {
+        return header;
+    }
+
+    Optional<ArchivedTicket> findById(long ticketId) {
+        if(!header.mayContain(ticketId)) {
+            return Optional.empty();
+        }
+        long[] ids = decodeIds();
+        int row = Arrays.binarySearch(ids, ticketId);
+        if(row < 0) {
+            return Optional.empty();
+        }
+        BitSet rows = new BitSet(header.rowCount());
+        rows.set(row);
+        return Optional.of(decodeRows(rows, ids, decodeCreatedDates(), decodeAgents()).get(0));
+    }
+
+    /**
+     * @return the matching tickets in id order
+     */
+    List<ArchivedTicket> find(TicketFilterDto ticketFilterDto) {
+        if(!header.mayMatch(ticketFilterDto)) {
+            return List.of();
+        }
+        LocalDateTime[] createdDates = decodeCreatedDates();
+        String[] agents = decodeAgents();
+        BitSet rows = new BitSet(header.rowCount());
+        for(int row = 0; row < header.rowCount(); row++) {
+            if(ticketFilterDto.matches(new TicketDto(null, null, Status.CLOSED, createdDates[row], null, agents[row], null))) {
+                rows.set(row);
+            }
+        }
+        return rows.isEmpty() ? List.of() : decodeRows(rows, decodeIds(), createdDates, agents);
+    }
+
+    private List<ArchivedTicket> decodeRows(BitSet rows, long[] ids, LocalDateTime[] createdDates, String[] agents) {
+        ByteBuffer versions = inflate(VERSION);
+        ByteBuffer closedDates = inflate(CLOSED_DATE);
+        ByteBuffer descriptions = inflate(DESCRIPTION);
+        ByteBuffer resolutionSummaries = inflate(RESOLUTION_SUMMARY);
+
+        List<ArchivedTicket> tickets = new ArrayList<>(rows.cardinality());
+        for(int row = 0; row < header.rowCount(); row++) {
+            long version = readVarLong(versions);
+            long closedDate = readVarLong(closedDates);
+            if(!rows.get(row)) {
+                skipString(descriptions);
+                skipString(resolutionSummaries);
+                continue;
+            }
+            tickets.add(new ArchivedTicket(
+                    ids[row],
+                    readString(descriptions),
+                    createdDates[row],
+                    closedDate == 0 ? null : createdDates[row].plus(unzigzag(closedDate - 1), ChronoUnit.MICROS),
+                    agents[row],
+                    readString(resolutionSummaries),
+                    version));
+        }
+        return tickets;
+    }
+
+    private long[] decodeIds() {
+        ByteBuffer column = inflate(ID);
+        long[] ids = new long[header.rowCount()];
+        long id = 0;
+        for(int row = 0; row < ids.length; row++) {
+            id += readVarLong(column);
+            ids[row] = id;
+        }
+        return ids;
+    }
+
+    private LocalDateTime[] decodeCreatedDates() {
+        ByteBuffer column = inflate(CREATED_DATE);
+        LocalDateTime[] createdDates = new LocalDateTime[header.rowCount()];
+        long micros = 0;
+        for(int row = 0; row < createdDates.length; row++) {
+            micros += unzigzag(readVarLong(column));
+            createdDates[row] = EPOCH.plus(micros, ChronoUnit.MICROS);
+        }
+        return createdDates;
+    }
+
+    private String[] decodeAgents() {
+        ByteBuffer column = inflate(ASSIGNED_AGENT);
+        String[] dictionary = new String[(int) readVarLong(column) + 1];
+        for(int code = 1; code < dictionary.length; code++) {
+            dictionary[code] = readString(column);
+        }
+        String[] agents = new String[header.rowCount()];
+        for(int row = 0; row < agents.length; row++) {
+            agents[row] = dictionary[(int) readVarLong(column)];
+        }
+        return agents;
+    }
+
+    private ByteBuffer inflate(int column) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data.slice(header.columnOffset(column), header.compressedLengths()[column]));
+            byte[] raw = new byte[header.rawLengths()[column]];
+            int length = 0;
+            while(length < raw.length) {
+                int inflated = inflater.inflate(raw, length, raw.length - length);
+                if(inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IllegalStateException("Truncated ticket archive segment");
+                }
+                length += inflated;
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException ex) {
+            throw new IllegalStateException("Corrupt ticket archive segment", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    static byte[] encode(List<ArchivedTicket> tickets) {
+        List<ArchivedTicket> rows = tickets.stream()
+                .sorted(Comparator.comparing(ArchivedTicket::id))
+                .toList();
+
+        ByteArrayOutputStream[] raw = new ByteArrayOutputStream[COLUMNS];
+        for(int column = 0; column < COLUMNS; column++) {
+            raw[column] = new ByteArrayOutputStream();
+        }
+        Map<String, Integer> agentCodes = new LinkedHashMap<>();
+        ByteArrayOutputStream agentRows = new ByteArrayOutputStream();
+
+        long previousId = 0;
+        long previousCreatedDate = 0;
+        long minCreatedDate = Long.MAX_VALUE;
+        long maxCreatedDate = Long.MIN_VALUE;
+        for(ArchivedTicket ticket : rows) {
+            long createdDate = toMicros(ticket.createdDate());
+            minCreatedDate = Math.min(minCreatedDate, createdDate);
+            maxCreatedDate = Math.max(maxCreatedDate, createdDate);
+
+            writeVarLong(raw[ID], ticket.id() - previousId);
+            writeVarLong(raw[VERSION], ticket.version() == null ? 0 : ticket.version());
+            writeVarLong(raw[CREATED_DATE], zigzag(createdDate - previousCreatedDate));
+            writeVarLong(raw[CLOSED_DATE], ticket.closedDate() == null
+                    ? 0 : zigzag(ChronoUnit.MICROS.between(ticket.createdDate(), ticket.closedDate())) + 1);
+            writeVarLong(agentRows, ticket.assignedAgent() == null
+                    ? 0 : agentCodes.computeIfAbsent(ticket.assignedAgent(), agent -> agentCodes.size() + 1));
+            writeString(raw[DESCRIPTION], ticket.description());
+            writeString(raw[RESOLUTION_SUMMARY], ticket.resolutionSummary());
+
+            previousId = ticket.id();
+            previousCreatedDate = createdDate;
+        }
+
+        writeVarLong(raw[ASSIGNED_AGENT], agentCodes.size());
+        agentCodes.keySet().forEach(agent -> writeString(raw[ASSIGNED_AGENT], agent));
+        raw[ASSIGNED_AGENT].writeBytes(agentRows.toByteArray());
+
+        byte[][] compressed = new byte[COLUMNS][];
+        int segmentBytes = HEADER_BYTES;
+        for(int column = 0; column < COLUMNS; column++) {
+            compressed[column] = deflate(raw[column].toByteArray());
+            segmentBytes += compressed[column].length;
+        }
+
+        ByteBuffer segment = ByteBuffer.allocate(segmentBytes)
+                .putInt(MAGIC)
+                .putInt(rows.size())
+                .putLong(rows.get(0).id())
+                .putLong(rows.get(rows.size() - 1).id())
+                .putLong(minCreatedDate)
+                .putLong(maxCreatedDate);
+        for(int column = 0; column < COLUMNS; column++) {
+            segment.putInt(compressed[column].length).putInt(raw[column].size());
+        }
+        for(byte[] column : compressed) {
+            segment.put(column);
+        }
+        return segment.array();
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 64);
+            byte[] buffer = new byte[8192];
+            while(!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return ChronoUnit.MICROS.between(EPOCH, dateTime);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for(int shift = 0; ; shift += 7) {
+            byte next = in.get();
+            value |= (long) (next & 0x7F) << shift;
+            if(next >= 0) {
+                return value;
+            }
+        }
+    }
+
+    // Length + 1 prefixed UTF-8, with 0 standing for null.
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if(value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = (int) readVarLong(in) - 1;
+        if(length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = (int) readVarLong(in) - 1;
+        if(length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.learnings.ticketapi.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The cache advice runs outermost so a cache hit never opens a transaction or waits on
+ * the JDBC concurrency gate.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String TICKETS_CACHE = "tickets";
+
+    /**
+     * Defers cache puts and evictions until the surrounding transaction commits, so a
+     * rolled-back write never reaches the cache.
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> transactionAwareCacheManagerCustomizer() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
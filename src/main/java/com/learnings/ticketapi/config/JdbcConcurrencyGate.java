@@ -0,0 +1,73 @@
+package com.learnings.ticketapi.config;
+
+import com.learnings.ticketapi.exception.ServiceBusyException;
+import com.learnings.ticketapi.util.ErrorMessages;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of threads doing database work at the size of the connection pool.
+ * Virtual threads are cheap enough that every request can get one, so without the gate a
+ * spike parks thousands of them on the pool until they time out; with it, excess callers
+ * wait at most {@code ticket.jdbc-gate.acquire-timeout} and are then turned away with a
+ * {@link ServiceBusyException}.
+ * <p>
+ * A permit is held for as long as a connection is: around each transaction, whether opened
+ * by a {@code @Transactional} service method or through {@link TransactionOperations}, and
+ * around repository calls made outside one. It is taken once per thread at the outermost of
+ * these, so nested calls never wait on a permit their own thread already holds. Service
+ * methods that run no transaction of their own, such as the in-memory backlog, only take
+ * permits in the repository calls they make. The streamed export is left out: its
+ * transaction lasts as long as the client takes to read, and a few slow downloads holding
+ * permits would turn every other request away. Its query still waits for a permit to start.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "ticket.jdbc-gate.enabled", havingValue = "true")
+public class JdbcConcurrencyGate {
+
+    private static final ThreadLocal<Boolean> HOLDS_PERMIT = ThreadLocal.withInitial(() -> false);
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public JdbcConcurrencyGate(@Value("${ticket.jdbc-gate.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                               @Value("${ticket.jdbc-gate.acquire-timeout:2s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Around("(execution(* com.learnings.ticketapi.service.TicketService+.*(..))"
+            + " && @annotation(org.springframework.transaction.annotation.Transactional)"
+            + " && !execution(* com.learnings.ticketapi.service.TicketService+.streamTickets(..)))"
+            + " || execution(* org.springframework.transaction.support.TransactionOperations+.execute(..))"
+            + " || execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object gate(ProceedingJoinPoint joinPoint) throws Throwable {
+        if(HOLDS_PERMIT.get()) {
+            return joinPoint.proceed();
+        }
+
+        if(!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new ServiceBusyException(ErrorMessages.SERVICE_BUSY);
+        }
+        HOLDS_PERMIT.set(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            HOLDS_PERMIT.remove();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.learnings.ticketapi.config;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+
+/**
+ * R2DBC access for the reactive read tier, next to the JDBC data source used by everything
+ * else. Neither the connection factory nor its transaction manager is a bean: Spring Boot backs
+ * the JDBC data source off when it sees a ConnectionFactory, and @Transactional would no longer
+ * know which of two transaction managers to use. Boot's own R2DBC auto-configuration is
+ * excluded in application.properties for the same reason.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ticket.reactive.enabled", havingValue = "true")
+public class ReactiveDataConfig implements DisposableBean {
+
+    private final ConnectionFactory connectionFactory;
+
+    public ReactiveDataConfig(@Value("${ticket.reactive.url}") String url) {
+        this.connectionFactory = ConnectionFactories.get(url);
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator() {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Override
+    public void destroy() {
+        if(connectionFactory instanceof Disposable pool) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.learnings.ticketapi.config;
+
+import com.learnings.ticketapi.wire.TicketCborHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    /**
+     * Appended after the defaults rather than registered as a bean, which Spring Boot would put
+     * first: with Accept: *&#47;* or no Accept header, the first converter able to write the
+     * body wins, and that has to stay JSON.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TicketCborHttpMessageConverter());
+    }
+}
@@ -0,0 +1,55 @@
+package com.learnings.ticketapi.controller;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.exception.InvalidDateRangeException;
+import com.learnings.ticketapi.service.ReactiveTicketService;
+import com.learnings.ticketapi.util.ErrorMessages;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The reads and single-ticket transitions of {@link TicketController}, served from R2DBC under
+ * /reactive/tickets when {@code ticket.reactive.enabled} is set. Lists are streamed as NDJSON,
+ * one ticket per line, requesting rows from the database only as fast as they are written out.
+ */
+@RestController
+@RequestMapping("/reactive/tickets")
+@ConditionalOnProperty(name = "ticket.reactive.enabled", havingValue = "true")
+public class ReactiveTicketController {
+
+    @Autowired
+    private ReactiveTicketService reactiveTicketService;
+
+    @GetMapping(produces = TicketController.NDJSON_MEDIA_TYPE)
+    public Flux<TicketDto> getTickets(TicketFilterDto filter) {
+        // Validate before the response is committed; once streaming starts the status is already 200.
+        if(filter.hasInvalidDateRange()) {
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+        return reactiveTicketService.getTickets(filter);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TicketDto> getTicketById(@PathVariable Long id) {
+        return reactiveTicketService.getTicketById(id);
+    }
+
+    @PutMapping("/{id}/agent/{agentId}")
+    public Mono<TicketDto> assignAgent(@PathVariable Long id, @PathVariable Long agentId) {
+        return reactiveTicketService.assignAgentToTicket(id, agentId);
+    }
+
+    @PutMapping("/{id}/resolve")
+    public Mono<TicketDto> resolveTicket(@PathVariable Long id) {
+        return reactiveTicketService.resolveTicket(id);
+    }
+
+    @PutMapping("/{id}/close")
+    public Mono<TicketDto> closeTicket(@PathVariable Long id) {
+        return reactiveTicketService.closeTicket(id);
+    }
+}
@@ -1,32 +1,96 @@
 package com.learnings.ticketapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketBacklogDto;
+import com.learnings.ticketapi.dto.TicketBatchResultDto;
+import com.learnings.ticketapi.dto.TicketCreationDto;
 import com.learnings.ticketapi.dto.TicketDto;
 import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketPageDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.dto.VersionedTicketDto;
+import com.learnings.ticketapi.event.TicketEventBroadcaster;
+import com.learnings.ticketapi.exception.InvalidDateRangeException;
+import com.learnings.ticketapi.metrics.SqlBudget;
 import com.learnings.ticketapi.service.TicketService;
+import com.learnings.ticketapi.util.ErrorMessages;
+import com.learnings.ticketapi.wire.TicketCbor;
+import com.learnings.ticketapi.wire.TicketCborHttpMessageConverter;
+import com.learnings.ticketapi.wire.TicketListPayloadCache;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/tickets")
 public class TicketController {
 
+    public static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    private static final byte NEW_LINE = '\n';
+    private static final String GZIP = "gzip";
+
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TicketEventBroadcaster ticketEventBroadcaster;
+
+    @Autowired
+    private TicketListPayloadCache ticketListPayloadCache;
+
+    /**
+     * The strong ETag is the ticket's version, cached together with the ticket, so while the
+     * ticket is cached a matching If-None-Match is answered with 304 without touching the
+     * database, and the ETag always describes the body it is sent with.
+     */
+    @SqlBudget(roundTrips = 1)
     @GetMapping("/{id}")
-    public ResponseEntity<TicketDto> getTicketById(@PathVariable Long id){
-        TicketDto ticketDto = ticketService.getTicketById(id);
-        return ResponseEntity.ok(ticketDto);
+    public ResponseEntity<TicketDto> getTicketById(@PathVariable Long id, WebRequest request){
+        VersionedTicketDto versionedTicket = ticketService.getVersionedTicketById(id);
+        String eTag = "\"" + versionedTicket.version() + "\"";
+        if(request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(versionedTicket.ticket());
     }
 
+    /**
+     * Creates a ticket, answering 201. A ticket detected as a duplicate of an open ticket links
+     * to it with {@code Link: rel="duplicate-of"}; when duplicates are merged nothing is created
+     * and the open ticket is returned with 200.
+     */
     @PostMapping
     public ResponseEntity<TicketDto> createTicket(@RequestBody TicketDto ticketDto){
-        TicketDto createdTicket = ticketService.createTicket(ticketDto);
-        return new ResponseEntity<>(createdTicket, HttpStatus.CREATED) ;
+        TicketCreationDto creation = ticketService.createTicket(ticketDto);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(creation.merged() ? HttpStatus.OK : HttpStatus.CREATED);
+        if(creation.duplicateOfId() != null) {
+            response.header(HttpHeaders.LINK, "</tickets/" + creation.duplicateOfId() + ">; rel=\"duplicate-of\"");
+        }
+        return response.body(creation.ticket());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<TicketBatchResultDto>> createTickets(@RequestBody List<TicketDto> ticketDtos){
+        List<TicketBatchResultDto> results = ticketService.createTickets(ticketDtos);
+        return ResponseEntity.ok(results);
     }
 
     @PutMapping("/{id}")
@@ -53,10 +117,214 @@ public class TicketController {
         return new ResponseEntity<>(closedTicket, HttpStatus.OK);
     }
 
+    @PutMapping("/bulk/agent/{agentId}")
+    public ResponseEntity<List<BulkTransitionResultDto>> assignAgentToTickets(@PathVariable Long agentId, @RequestBody BulkTicketRequestDto request) {
+        List<BulkTransitionResultDto> results = ticketService.assignAgentToTickets(request, agentId);
+        return ResponseEntity.ok(results);
+    }
+
+    @PutMapping("/bulk/resolve")
+    public ResponseEntity<List<BulkTransitionResultDto>> resolveTickets(@RequestBody BulkTicketRequestDto request) {
+        List<BulkTransitionResultDto> results = ticketService.resolveTickets(request);
+        return ResponseEntity.ok(results);
+    }
+
+    @PutMapping("/bulk/close")
+    public ResponseEntity<List<BulkTransitionResultDto>> closeTickets(@RequestBody BulkTicketRequestDto request) {
+        List<BulkTransitionResultDto> results = ticketService.closeTickets(request);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Lists carry a weak ETag built from an aggregate over the filtered rows, which is much
+     * cheaper than selecting and serializing them. Clients that accept gzip are answered from
+     * {@link TicketListPayloadCache}: a cached list is written as stored, without queries or
+     * serialization, and a missing one is encoded once, stored and written the same way.
+     * Other responses are left to the server's compression.
+     */
+    @SqlBudget(roundTrips = 2)
     @GetMapping
-    public ResponseEntity<List<TicketDto>> getTickets(TicketFilterDto filter) {
+    public ResponseEntity<List<TicketDto>> getTickets(TicketFilterDto filter, WebRequest request, HttpServletResponse response,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) throws IOException {
+        TicketListPayloadCache.Format format = acceptsGzip(acceptEncoding) ? TicketListPayloadCache.Format.forAccept(accept) : null;
+        if(format != null) {
+            return writeCachedTickets(filter, format, request, response);
+        }
+
+        String eTag = listETag(filter);
+        if(request.checkNotModified(eTag)) {
+            return null;
+        }
         List<TicketDto> tickets = ticketService.getTickets(filter);
-        return ResponseEntity.ok(tickets);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(tickets);
+    }
+
+    /**
+     * The generation is read before the ETag and the list, so a change committed while they
+     * are queried keeps the result out of the cache.
+     */
+    private ResponseEntity<List<TicketDto>> writeCachedTickets(TicketFilterDto filter, TicketListPayloadCache.Format format,
+                                                               WebRequest request, HttpServletResponse response) throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        TicketListPayloadCache.Payload payload = ticketListPayloadCache.get(filter, format);
+        if(payload == null) {
+            long generation = ticketListPayloadCache.generation();
+            String eTag = listETag(filter);
+            if(request.checkNotModified(eTag)) {
+                return null;
+            }
+            payload = ticketListPayloadCache.put(filter, format, ticketService.getTickets(filter), eTag, generation);
+        }
+        else if(request.checkNotModified(payload.eTag())) {
+            return null;
+        }
+
+        // Content-Encoding is already set, so the server's compression leaves the body alone.
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(format.contentType());
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        response.setContentLength(payload.gzippedBody().length);
+        response.getOutputStream().write(payload.gzippedBody());
+        return null;
+    }
+
+    private String listETag(TicketFilterDto filter) {
+        return "W/\"" + ticketService.getTicketsVersionTag(filter) + "\"";
+    }
+
+    @SqlBudget(roundTrips = 1)
+    @GetMapping("/page")
+    public ResponseEntity<TicketPageDto> getTicketPage(TicketFilterDto filter,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        TicketPageDto page = ticketService.getTicketPage(filter, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @SqlBudget(roundTrips = 1)
+    @GetMapping("/search")
+    public ResponseEntity<TicketSearchPageDto> searchTickets(@RequestParam(required = false) String q,
+                                                             TicketFilterDto filter,
+                                                             @RequestParam(required = false) Integer page,
+                                                             @RequestParam(required = false) Integer size) {
+        TicketSearchPageDto results = ticketService.searchTickets(q, filter, page, size);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Three aggregate queries, by status and agent, by created date and the mean time to
+     * close, plus the agent-name lookup when an agent filter misses the query cache.
+     */
+    @SqlBudget(roundTrips = 4)
+    @GetMapping("/stats")
+    public ResponseEntity<TicketStatsDto> getTicketStats(TicketFilterDto filter,
+                                                         @RequestParam(defaultValue = "DAY") DateBucket bucket) {
+        TicketStatsDto stats = ticketService.getTicketStats(filter, bucket);
+        return ResponseEntity.ok(stats);
+    }
+
+    @SqlBudget(roundTrips = 0)
+    @GetMapping("/backlog")
+    public ResponseEntity<TicketBacklogDto> getTicketBacklog() {
+        TicketBacklogDto backlog = ticketService.getTicketBacklog();
+        return ResponseEntity.ok(backlog);
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTicketEvents(TicketFilterDto filter) {
+        if(filter.hasInvalidDateRange()) {
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+        return ticketEventBroadcaster.subscribe(filter);
+    }
+
+    /**
+     * Streams the matching tickets as NDJSON, or in the compact {@value TicketCbor#MEDIA_TYPE_VALUE}
+     * encoding when the client asks for it explicitly. One handler serves both because two
+     * mappings differing only in produces would be ambiguous for Accept: *&#47;*.
+     */
+    @GetMapping(value = "/export", produces = {NDJSON_MEDIA_TYPE, TicketCbor.MEDIA_TYPE_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportTickets(TicketFilterDto filter,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // Validate before the response is committed; once streaming starts the status is already 200.
+        if(filter.hasInvalidDateRange()) {
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
+
+        if(prefersTicketCbor(accept)) {
+            // The list is only terminated once every ticket is out; if the stream fails the
+            // exception aborts the response and the client sees a truncated list, not a short one.
+            StreamingResponseBody body = outputStream -> {
+                TicketCbor.Writer writer = TicketCbor.writer(outputStream);
+                ticketService.streamTickets(filter, ticketDto -> {
+                    try {
+                        writer.write(ticketDto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.finish();
+            };
+            return ResponseEntity.ok()
+                    .contentType(TicketCborHttpMessageConverter.TICKET_CBOR)
+                    .body(body);
+        }
+
+        StreamingResponseBody body = outputStream -> ticketService.streamTickets(filter, ticketDto -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(ticketDto));
+                outputStream.write(NEW_LINE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_MEDIA_TYPE))
+                .body(body);
+    }
+
+    /**
+     * Only an explicitly listed CBOR type counts, and it has to outrank an explicitly listed
+     * NDJSON type; wildcards keep the NDJSON default.
+     */
+    private static boolean prefersTicketCbor(String accept) {
+        if(accept == null || accept.isBlank()) {
+            return false;
+        }
+        double cborQuality = 0;
+        double ndjsonQuality = 0;
+        for(MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+            if(mediaType.equalsTypeAndSubtype(TicketCborHttpMessageConverter.TICKET_CBOR)) {
+                cborQuality = Math.max(cborQuality, mediaType.getQualityValue());
+            }
+            else if(mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+                ndjsonQuality = Math.max(ndjsonQuality, mediaType.getQualityValue());
+            }
+        }
+        return cborQuality > ndjsonQuality;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if(acceptEncoding == null) {
+            return false;
+        }
+        for(String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if(!parts[0].trim().equalsIgnoreCase(GZIP)) {
+                continue;
+            }
+            for(int i = 1; i < parts.length; i++) {
+                if(parts[i].trim().matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
     }
 
 }
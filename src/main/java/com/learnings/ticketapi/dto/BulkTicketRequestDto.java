@@ -0,0 +1,11 @@
+package com.learnings.ticketapi.dto;
+
+import java.util.List;
+
+/**
+ * Selects the tickets of a bulk operation, either by explicit ids or, when no ids are
+ * given, by the same criteria as GET /tickets.
+ */
+public record BulkTicketRequestDto(List<Long> ids,
+                                   TicketFilterDto filter) {
+}
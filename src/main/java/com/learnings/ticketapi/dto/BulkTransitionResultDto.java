@@ -0,0 +1,13 @@
+package com.learnings.ticketapi.dto;
+
+public record BulkTransitionResultDto(Long id,
+                                      Outcome outcome) {
+
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        INVALID_STATE,
+        MISSING_RESOLUTION_SUMMARY,
+        CONFLICT
+    }
+}
@@ -0,0 +1,6 @@
+package com.learnings.ticketapi.dto;
+
+public enum DateBucket {
+    HOUR,
+    DAY
+}
@@ -0,0 +1,13 @@
+package com.learnings.ticketapi.dto;
+
+import com.learnings.ticketapi.model.Status;
+
+import java.util.Map;
+
+/**
+ * Live ticket counts by status, and by status per agent id. Unassigned tickets only
+ * appear in {@code byStatus}.
+ */
+public record TicketBacklogDto(Map<Status, Long> byStatus,
+                               Map<Long, Map<Status, Long>> byAgent) {
+}
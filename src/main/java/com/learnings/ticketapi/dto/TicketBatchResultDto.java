@@ -0,0 +1,17 @@
+package com.learnings.ticketapi.dto;
+
+/**
+ * Outcome of one ticket of a batch, by its index in the request: the ticket the caller should
+ * use, the open ticket it duplicates (if any) and whether it was merged into that ticket, or
+ * why it was rejected.
+ */
+public record TicketBatchResultDto(int index,
+                                   TicketDto ticket,
+                                   Long duplicateOfId,
+                                   boolean merged,
+                                   String error) {
+
+    public TicketBatchResultDto(int index, TicketDto ticket, String error) {
+        this(index, ticket, null, false, error);
+    }
+}
@@ -0,0 +1,10 @@
+package com.learnings.ticketapi.dto;
+
+/**
+ * Outcome of creating a ticket: the ticket the caller should use, the open ticket it
+ * duplicates (if any) and whether it was merged into that ticket instead of being created.
+ */
+public record TicketCreationDto(TicketDto ticket,
+                                Long duplicateOfId,
+                                boolean merged) {
+}
@@ -9,4 +9,33 @@ public record TicketFilterDto(List<Status> status,
                                 LocalDateTime startDate,
                                 LocalDateTime endDate,
                                 String assignedAgent) {
+
+    public boolean hasInvalidDateRange() {
+        return startDate != null
+                && endDate != null
+                && endDate.isBefore(startDate);
+    }
+
+    /**
+     * In-memory counterpart of the repository filter predicates, for tickets that are not
+     * read from the database. As in SQL, a ticket without a created date is outside every
+     * date range.
+     */
+    public boolean matches(TicketDto ticket) {
+        if(status != null && !status.isEmpty() && !status.contains(ticket.status())) {
+            return false;
+        }
+        if((startDate != null || endDate != null) && ticket.createdDate() == null) {
+            return false;
+        }
+        if(startDate != null && ticket.createdDate().isBefore(startDate)) {
+            return false;
+        }
+        if(endDate != null && ticket.createdDate().isAfter(endDate)) {
+            return false;
+        }
+        return assignedAgent == null
+                || assignedAgent.trim().isEmpty()
+                || assignedAgent.equals(ticket.assignedAgent());
+    }
 }
@@ -0,0 +1,7 @@
+package com.learnings.ticketapi.dto;
+
+import java.util.List;
+
+public record TicketPageDto(List<TicketDto> tickets,
+                            String nextCursor) {
+}
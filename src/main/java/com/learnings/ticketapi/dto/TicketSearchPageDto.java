@@ -0,0 +1,12 @@
+package com.learnings.ticketapi.dto;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, best match first.
+ */
+public record TicketSearchPageDto(List<TicketDto> tickets,
+                                  int page,
+                                  int size,
+                                  boolean hasNext) {
+}
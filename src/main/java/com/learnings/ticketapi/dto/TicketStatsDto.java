@@ -0,0 +1,19 @@
+package com.learnings.ticketapi.dto;
+
+import com.learnings.ticketapi.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Aggregates over the tickets matching a {@link TicketFilterDto}. Tickets without an agent
+ * are counted in {@code unassigned} rather than in {@code byAgent}; {@code byCreatedDate}
+ * is keyed by the start of each hour or day bucket.
+ */
+public record TicketStatsDto(long total,
+                             Map<Status, Long> byStatus,
+                             Map<String, Long> byAgent,
+                             long unassigned,
+                             Map<LocalDateTime, Long> byCreatedDate,
+                             Double meanTimeToCloseSeconds) {
+}
@@ -0,0 +1,8 @@
+package com.learnings.ticketapi.dto;
+
+/**
+ * A ticket with the version it was read at, cached together so the ETag built from the
+ * version always describes the ticket it is sent with.
+ */
+public record VersionedTicketDto(TicketDto ticket, Long version) {
+}
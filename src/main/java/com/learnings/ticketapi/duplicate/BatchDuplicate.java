@@ -0,0 +1,17 @@
+package com.learnings.ticketapi.duplicate;
+
+/**
+ * What a description of a batch duplicates: an open ticket already in the index
+ * (ticketId), or an earlier description of the same batch (earlierPosition).
+ */
+public record BatchDuplicate(Long ticketId,
+                             Integer earlierPosition) {
+
+    public static BatchDuplicate ofTicket(long ticketId) {
+        return new BatchDuplicate(ticketId, null);
+    }
+
+    public static BatchDuplicate ofEarlier(int earlierPosition) {
+        return new BatchDuplicate(null, earlierPosition);
+    }
+}
@@ -0,0 +1,10 @@
+package com.learnings.ticketapi.duplicate;
+
+public enum DuplicateMode {
+    // Create every ticket as submitted.
+    OFF,
+    // Create the ticket but record the open ticket it duplicates.
+    LINK,
+    // Do not create the ticket; hand back the open ticket it duplicates instead.
+    MERGE
+}
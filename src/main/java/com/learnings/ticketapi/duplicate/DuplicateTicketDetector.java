@@ -0,0 +1,201 @@
+package com.learnings.ticketapi.duplicate;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Finds the open ticket a new description duplicates. Open tickets are fingerprinted with
+ * {@link SimHash} into a {@link DuplicateTicketIndex}, rebuilt at startup and kept current from
+ * committed {@link TicketChangedEvent}s. Only the first ticket of each cluster of near-identical
+ * descriptions is indexed, so later duplicates always resolve to that canonical ticket and the
+ * index grows with distinct problems rather than with the size of an outage.
+ * <p>
+ * Listeners of two commits to the same ticket can run in either order, so the version of
+ * every ticket tracked from an event is kept and an event older than it is ignored. Changes
+ * heard while a rebuild runs are held and applied after its snapshot, as in
+ * {@link com.learnings.ticketapi.search.TicketSearchIndex}.
+ */
+@Component
+public class DuplicateTicketDetector {
+
+    private static final List<Status> OPEN_STATUSES = List.of(Status.NEW, Status.IN_PROGRESS);
+
+    private final TicketRepository ticketRepository;
+    private final TransactionOperations transactionOperations;
+    private final DuplicateMode mode;
+    private final DuplicateTicketIndex index = new DuplicateTicketIndex();
+    private final ConcurrentHashMap<Long, Long> trackedVersions = new ConcurrentHashMap<>();
+
+    // Listeners share the read lock; a rebuild takes the write lock only to start holding
+    // changes and to apply them, so none is lost between the two.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private ConcurrentLinkedQueue<Runnable> pendingChanges;
+
+    public DuplicateTicketDetector(TicketRepository ticketRepository,
+                                   TransactionOperations transactionOperations,
+                                   @Value("${ticket.duplicates.mode:link}") DuplicateMode mode) {
+        this.ticketRepository = ticketRepository;
+        this.transactionOperations = transactionOperations;
+        this.mode = mode;
+    }
+
+    public DuplicateMode mode() {
+        return mode;
+    }
+
+    /**
+     * @return the id of the open canonical ticket the description duplicates, if detection is on
+     */
+    public OptionalLong findDuplicateOf(String description) {
+        if(mode == DuplicateMode.OFF) {
+            return OptionalLong.empty();
+        }
+        return index.findNear(SimHash.of(description));
+    }
+
+    /**
+     * Looks up the descriptions of a batch of new tickets. The tickets of a batch only reach the
+     * index once the batch has committed, so a description that duplicates no open ticket is
+     * also compared with the earlier descriptions of the batch that start a cluster of their own.
+     *
+     * @return per description, the open ticket or earlier description it duplicates, or null
+     */
+    public List<BatchDuplicate> findDuplicatesOf(List<String> descriptions) {
+        List<BatchDuplicate> duplicates = new ArrayList<>(descriptions.size());
+        // Batches are small next to the index, so the batch's own canonicals are scanned.
+        List<Integer> batchCanonicals = new ArrayList<>();
+        long[] fingerprints = new long[descriptions.size()];
+        for(int position = 0; position < descriptions.size(); position++) {
+            if(mode == DuplicateMode.OFF) {
+                duplicates.add(null);
+                continue;
+            }
+            fingerprints[position] = SimHash.of(descriptions.get(position));
+            OptionalLong canonical = index.findNear(fingerprints[position]);
+            if(canonical.isPresent()) {
+                duplicates.add(BatchDuplicate.ofTicket(canonical.getAsLong()));
+                continue;
+            }
+            BatchDuplicate earlier = null;
+            for(int batchCanonical : batchCanonicals) {
+                if(SimHash.distance(fingerprints[batchCanonical], fingerprints[position]) <= DuplicateTicketIndex.MAX_DISTANCE) {
+                    earlier = BatchDuplicate.ofEarlier(batchCanonical);
+                    break;
+                }
+            }
+            if(earlier == null) {
+                batchCanonicals.add(position);
+            }
+            duplicates.add(earlier);
+        }
+        return duplicates;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        if(mode == DuplicateMode.OFF) {
+            return;
+        }
+        rebuildLock.writeLock().lock();
+        try {
+            pendingChanges = new ConcurrentLinkedQueue<>();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        try {
+            index.clear();
+            trackedVersions.clear();
+            transactionOperations.execute(status -> {
+                try (Stream<TicketDto> tickets = ticketRepository.streamWithFilters(OPEN_STATUSES, null, null, null)) {
+                    tickets.forEach(this::track);
+                }
+                return null;
+            });
+        } finally {
+            rebuildLock.writeLock().lock();
+            try {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if(mode == DuplicateMode.OFF) {
+            return;
+        }
+        apply(() -> trackedVersions.compute(event.ticketId(), (ticketId, trackedVersion) -> {
+            if(trackedVersion != null && trackedVersion >= event.version()) {
+                return trackedVersion;
+            }
+            track(event.ticket());
+            return event.version();
+        }));
+    }
+
+    /**
+     * Archived tickets were closed long before, so only their versions are left to drop.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketsArchived(TicketsArchivedEvent event) {
+        apply(() -> event.ticketIds().forEach(trackedVersions::remove));
+    }
+
+    int indexedTickets() {
+        return index.size();
+    }
+
+    private void track(TicketDto ticket) {
+        if(!OPEN_STATUSES.contains(ticket.status()) || ticket.description() == null) {
+            index.remove(ticket.id());
+            return;
+        }
+        long fingerprint = SimHash.of(ticket.description());
+        OptionalLong canonical = index.findNear(fingerprint);
+        if(canonical.isEmpty() || canonical.getAsLong() == ticket.id()) {
+            index.put(ticket.id(), fingerprint);
+        } else if(index.contains(ticket.id())) {
+            // An edit moved a canonical ticket onto another cluster; let that cluster represent it.
+            index.remove(ticket.id());
+        }
+    }
+
+    /**
+     * Applies the change now or, while a rebuild runs, after its snapshot.
+     */
+    private void apply(Runnable change) {
+        rebuildLock.readLock().lock();
+        try {
+            if(pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            else {
+                change.run();
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+}
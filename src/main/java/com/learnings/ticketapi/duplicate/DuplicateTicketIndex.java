@@ -0,0 +1,128 @@
+package com.learnings.ticketapi.duplicate;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locality-sensitive index of SimHash fingerprints. The 64 bits are split into
+ * {@link #BANDS} bands of 16 bits; two fingerprints within {@link #MAX_DISTANCE} bits of each
+ * other must agree on at least one band, so a lookup only scans the one bucket per band that
+ * shares its band value and verifies the candidates' full distance.
+ * <p>
+ * Buckets hold (ticket id, fingerprint) pairs in primitive arrays and are locked individually,
+ * so lookups cost four small scans and never contend with writes to other buckets.
+ */
+public class DuplicateTicketIndex {
+
+    public static final int MAX_DISTANCE = 3;
+    public static final int BANDS = MAX_DISTANCE + 1;
+    private static final int BAND_BITS = Long.SIZE / BANDS;
+    private static final int BAND_MASK = (1 << BAND_BITS) - 1;
+
+    private final Bucket[][] bands = new Bucket[BANDS][1 << BAND_BITS];
+    private final ConcurrentHashMap<Long, Long> fingerprints = new ConcurrentHashMap<>();
+
+    public DuplicateTicketIndex() {
+        for(Bucket[] band : bands) {
+            for(int value = 0; value < band.length; value++) {
+                band[value] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * @return the id of an indexed ticket within {@link #MAX_DISTANCE} bits, if any
+     */
+    public OptionalLong findNear(long fingerprint) {
+        for(int band = 0; band < BANDS; band++) {
+            long match = bucket(band, fingerprint).findNear(fingerprint);
+            if(match != Bucket.NONE) {
+                return OptionalLong.of(match);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    public void put(long ticketId, long fingerprint) {
+        Long previous = fingerprints.put(ticketId, fingerprint);
+        if(previous != null) {
+            if(previous == fingerprint) {
+                return;
+            }
+            removeFromBuckets(ticketId, previous);
+        }
+        for(int band = 0; band < BANDS; band++) {
+            bucket(band, fingerprint).add(ticketId, fingerprint);
+        }
+    }
+
+    public void remove(long ticketId) {
+        Long fingerprint = fingerprints.remove(ticketId);
+        if(fingerprint != null) {
+            removeFromBuckets(ticketId, fingerprint);
+        }
+    }
+
+    public boolean contains(long ticketId) {
+        return fingerprints.containsKey(ticketId);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    public void clear() {
+        for(Long ticketId : fingerprints.keySet()) {
+            remove(ticketId);
+        }
+    }
+
+    private void removeFromBuckets(long ticketId, long fingerprint) {
+        for(int band = 0; band < BANDS; band++) {
+            bucket(band, fingerprint).remove(ticketId);
+        }
+    }
+
+    private Bucket bucket(int band, long fingerprint) {
+        return bands[band][(int) (fingerprint >>> (band * BAND_BITS)) & BAND_MASK];
+    }
+
+    private static final class Bucket {
+        private static final long NONE = Long.MIN_VALUE;
+        private static final long[] EMPTY = new long[0];
+
+        // ticket id at even, fingerprint at odd indexes
+        private long[] entries = EMPTY;
+        private int size;
+
+        synchronized long findNear(long fingerprint) {
+            for(int i = 0; i < size; i++) {
+                if(SimHash.distance(entries[2 * i + 1], fingerprint) <= MAX_DISTANCE) {
+                    return entries[2 * i];
+                }
+            }
+            return NONE;
+        }
+
+        synchronized void add(long ticketId, long fingerprint) {
+            if(2 * size == entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(4, entries.length * 2));
+            }
+            entries[2 * size] = ticketId;
+            entries[2 * size + 1] = fingerprint;
+            size++;
+        }
+
+        synchronized void remove(long ticketId) {
+            for(int i = 0; i < size; i++) {
+                if(entries[2 * i] == ticketId) {
+                    size--;
+                    entries[2 * i] = entries[2 * size];
+                    entries[2 * i + 1] = entries[2 * size + 1];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.learnings.ticketapi.duplicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 64-bit SimHash of a text: every word and word pair votes on each bit with its hash, so
+ * texts that share most of their features end up a small Hamming distance apart.
+ */
+public final class SimHash {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {}
+
+    public static long of(String text) {
+        int[] votes = new int[Long.SIZE];
+        for(String feature : features(text)) {
+            long hash = hash(feature);
+            for(int bit = 0; bit < Long.SIZE; bit++) {
+                votes[bit] += ((hash >>> bit) & 1) == 1 ? 1 : -1;
+            }
+        }
+
+        long fingerprint = 0;
+        for(int bit = 0; bit < Long.SIZE; bit++) {
+            if(votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static List<String> features(String text) {
+        String[] words = text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+");
+        List<String> features = new ArrayList<>(words.length * 2);
+        String previous = null;
+        for(String word : words) {
+            if(word.isEmpty()) {
+                continue;
+            }
+            features.add(word);
+            if(previous != null) {
+                features.add(previous + ' ' + word);
+            }
+            previous = word;
+        }
+        return features;
+    }
+
+    // FNV-1a spreads short strings poorly over the high bits, so finish with the MurmurHash3 mixer.
+    private static long hash(String feature) {
+        long hash = FNV_OFFSET_BASIS;
+        for(int i = 0; i < feature.length(); i++) {
+            hash ^= feature.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
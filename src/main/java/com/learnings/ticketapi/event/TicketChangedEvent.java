@@ -0,0 +1,53 @@
+package com.learnings.ticketapi.event;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Published by the ticket service for every ticket it creates or modifies. previousStatus is
+ * null for newly created tickets; both status fields are equal for content-only updates.
+ * ticket is the state after the change and version the ticket's version after it, so a
+ * listener can tell a change heard late from a newer one it has already applied.
+ */
+public record TicketChangedEvent(Long ticketId,
+                                 Status previousStatus,
+                                 Status status,
+                                 Long previousAgentId,
+                                 Long agentId,
+                                 LocalDateTime occurredAt,
+                                 TicketDto ticket,
+                                 Long version) {
+
+    public boolean isTransition() {
+        return previousStatus != status;
+    }
+
+    /**
+     * Whether a view filtered by {@code filter} has to hear about this change: the ticket
+     * matched the filter before or after it, so it entered, left or changed within the view.
+     * The created date never changes. The previous agent's name is not known, so a
+     * reassignment concerns every agent filter, and a ticket without a created date concerns
+     * every date range.
+     */
+    public boolean concerns(TicketFilterDto filter) {
+        if(filter.status() != null && !filter.status().isEmpty()
+                && !filter.status().contains(status)
+                && (previousStatus == null || !filter.status().contains(previousStatus))) {
+            return false;
+        }
+        LocalDateTime createdDate = ticket.createdDate();
+        if(createdDate != null
+                && (filter.startDate() != null && createdDate.isBefore(filter.startDate())
+                || filter.endDate() != null && createdDate.isAfter(filter.endDate()))) {
+            return false;
+        }
+        return filter.assignedAgent() == null
+                || filter.assignedAgent().trim().isEmpty()
+                || filter.assignedAgent().equals(ticket.assignedAgent())
+                || !Objects.equals(previousAgentId, agentId);
+    }
+}
@@ -0,0 +1,137 @@
+package com.learnings.ticketapi.event;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed ticket changes out to Server-Sent Events subscribers. A subscriber gets every
+ * change its filter {@linkplain TicketChangedEvent#concerns concerns}, including a ticket
+ * leaving the filtered view; the ticket is sent in its new state, which no longer matching the
+ * filter tells the client to drop it. The commit thread only offers the ticket to each
+ * subscriber's bounded buffer; a virtual thread per subscriber does the blocking writes. A
+ * subscriber whose buffer is full is too slow to keep up and is disconnected rather than
+ * allowed to hold back the others; it is expected to reconnect and re-read the current state.
+ * <p>
+ * Listeners of two commits to the same ticket can run in either order, so the last version
+ * sent for every ticket is kept and an older change is not sent at all; a client never
+ * replaces a ticket with an older state of it.
+ */
+@Component
+public class TicketEventBroadcaster {
+
+    public static final String TICKET_EVENT = "ticket";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, Long> sentVersions = new ConcurrentHashMap<>();
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration heartbeatInterval;
+
+    public TicketEventBroadcaster(@Value("${ticket.events.buffer-size:256}") int bufferSize,
+                                  @Value("${ticket.events.timeout:PT30M}") Duration timeout,
+                                  @Value("${ticket.events.heartbeat-interval:PT15S}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public SseEmitter subscribe(TicketFilterDto filter) {
+        Subscriber subscriber = new Subscriber(filter, createEmitter(timeout.toMillis()), new ArrayBlockingQueue<>(bufferSize));
+        subscriber.emitter.onCompletion(() -> disconnect(subscriber));
+        subscriber.emitter.onTimeout(() -> disconnect(subscriber));
+        subscriber.emitter.onError(ex -> disconnect(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.sender = Thread.ofVirtual().name("ticket-events-sender").start(() -> send(subscriber));
+        return subscriber.emitter;
+    }
+
+    /**
+     * Offers the change while holding its ticket's entry, so two changes to one ticket reach
+     * every buffer in version order.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        sentVersions.compute(event.ticketId(), (ticketId, sentVersion) -> {
+            if(sentVersion != null && sentVersion >= event.version()) {
+                return sentVersion;
+            }
+            TicketDto ticket = event.ticket();
+            for(Subscriber subscriber : subscribers) {
+                if(event.concerns(subscriber.filter) && !subscriber.buffer.offer(ticket)) {
+                    disconnect(subscriber);
+                    subscriber.emitter.complete();
+                }
+            }
+            return event.version();
+        });
+    }
+
+    /**
+     * Archived tickets no longer change, so their versions are dropped.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketsArchived(TicketsArchivedEvent event) {
+        event.ticketIds().forEach(sentVersions::remove);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                TicketDto ticket = subscriber.buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if(ticket == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(TICKET_EVENT)
+                            .data(ticket, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away or the emitter was completed; the callbacks clean up.
+            disconnect(subscriber);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if(subscribers.remove(subscriber) && subscriber.sender != null) {
+            subscriber.sender.interrupt();
+        }
+    }
+
+    private static final class Subscriber {
+        private final TicketFilterDto filter;
+        private final SseEmitter emitter;
+        private final BlockingQueue<TicketDto> buffer;
+        private volatile Thread sender;
+
+        private Subscriber(TicketFilterDto filter, SseEmitter emitter, BlockingQueue<TicketDto> buffer) {
+            this.filter = filter;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
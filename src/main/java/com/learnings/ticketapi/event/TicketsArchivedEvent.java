@@ -0,0 +1,14 @@
+package com.learnings.ticketapi.event;
+
+import com.learnings.ticketapi.repository.projection.TicketCountView;
+
+import java.util.List;
+
+/**
+ * Published by the archiver for every batch it moves out of the ticket table. The tickets
+ * still exist in the archive but no longer in the table, so in-memory views of the table
+ * must drop them. counts holds the removed rows grouped by status and agent.
+ */
+public record TicketsArchivedEvent(List<Long> ticketIds,
+                                   List<TicketCountView> counts) {
+}
@@ -0,0 +1,7 @@
+package com.learnings.ticketapi.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
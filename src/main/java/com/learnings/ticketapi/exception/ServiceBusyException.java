@@ -0,0 +1,7 @@
+package com.learnings.ticketapi.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.learnings.ticketapi.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most database round trips a handler is expected to need per request, whatever the size
+ * of its result. {@link SqlStatementMetricsFilter} reports requests that go over it, which is
+ * how an N+1 shows up before it reaches production. Handlers without one get
+ * {@code ticket.sql-budget.default-round-trips}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int roundTrips();
+}
@@ -0,0 +1,59 @@
+package com.learnings.ticketapi.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts database work on the current thread: round trips (every execution, a JDBC batch
+ * counting once) and the statements they carried (every row of a batch counting once).
+ * Requests are served on one thread, so resetting at the start of a request and reading at
+ * the end gives the work done for it.
+ */
+public class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final int ROUND_TRIPS = 0;
+    private static final int STATEMENTS = 1;
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Starts a new count for the current thread.
+     */
+    public static void reset() {
+        long[] counts = COUNTS.get();
+        counts[ROUND_TRIPS] = 0;
+        counts[STATEMENTS] = 0;
+    }
+
+    /**
+     * @return the round trips made on the current thread since the last {@link #reset()}
+     */
+    public static long roundTrips() {
+        return COUNTS.get()[ROUND_TRIPS];
+    }
+
+    /**
+     * @return the statements executed on the current thread since the last {@link #reset()}
+     */
+    public static long statements() {
+        return COUNTS.get()[STATEMENTS];
+    }
+
+    public static void recordRoundTrip(int statements) {
+        long[] counts = COUNTS.get();
+        counts[ROUND_TRIPS]++;
+        counts[STATEMENTS] += statements;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        recordRoundTrip(execInfo.isBatch() ? execInfo.getBatchSize() : queryInfoList.size());
+    }
+}
@@ -0,0 +1,74 @@
+package com.learnings.ticketapi.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the JDBC round trips of every request, per method and route, and reports requests
+ * that exceed their handler's {@link SqlBudget} with a warning and a
+ * {@value TicketMetrics#SQL_BUDGET_EXCEEDED} count to alert on. Work done on other threads,
+ * such as the writes behind a streamed export, is not attributed to the request.
+ */
+@Component
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetricsFilter.class);
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+
+    private final TicketMetrics ticketMetrics;
+    private final int defaultRoundTrips;
+    private final Map<Method, Integer> budgets = new ConcurrentHashMap<>();
+
+    public SqlStatementMetricsFilter(TicketMetrics ticketMetrics,
+                                     @Value("${ticket.sql-budget.default-round-trips:10}") int defaultRoundTrips) {
+        this.ticketMetrics = ticketMetrics;
+        this.defaultRoundTrips = defaultRoundTrips;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String routePattern = route == null ? UNKNOWN_ROUTE : route.toString();
+            long roundTrips = SqlStatementCounter.roundTrips();
+            ticketMetrics.recordRequestStatements(request.getMethod(), routePattern, roundTrips);
+
+            int budget = budgetOf(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+            if(roundTrips > budget) {
+                log.warn("{} {} made {} database round trips ({} statements), over its budget of {}",
+                        request.getMethod(), routePattern, roundTrips, SqlStatementCounter.statements(), budget);
+                ticketMetrics.recordSqlBudgetExceeded(request.getMethod(), routePattern);
+            }
+        }
+    }
+
+    private int budgetOf(Object handler) {
+        if(!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultRoundTrips;
+        }
+        return budgets.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, SqlBudget.class);
+            return budget == null ? defaultRoundTrips : budget.roundTrips();
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.learnings.ticketapi.metrics;
+
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ticket-specific meters. Everything recorded on a per-request path is registered up front or
+ * cached after first use, so recording is a lookup and an atomic update, never a registry
+ * lookup with freshly built tags.
+ */
+@Component
+public class TicketMetrics {
+
+    public static final String RESULT_SIZE = "ticket.query.results";
+    public static final String TRANSITIONS = "ticket.transitions";
+    public static final String ERRORS = "ticket.api.errors";
+    public static final String REQUEST_STATEMENTS = "ticket.http.db.statements";
+    public static final String SQL_BUDGET_EXCEEDED = "ticket.http.db.budget.exceeded";
+
+    private static final String CREATED = "NONE";
+
+    public enum Query { LIST, PAGE, SEARCH }
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary[] resultSizes = new DistributionSummary[Query.values().length];
+    // Indexed by previous status ordinal + 1 (0 for a newly created ticket), then new status ordinal.
+    private final Counter[][] transitions = new Counter[Status.values().length + 1][Status.values().length];
+    private final Map<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> requestStatements = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sqlBudgetsExceeded = new ConcurrentHashMap<>();
+
+    public TicketMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for(Query query : Query.values()) {
+            resultSizes[query.ordinal()] = DistributionSummary.builder(RESULT_SIZE)
+                    .description("Tickets returned per query")
+                    .tag("query", query.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        for(int previous = 0; previous < transitions.length; previous++) {
+            for(Status status : Status.values()) {
+                transitions[previous][status.ordinal()] = Counter.builder(TRANSITIONS)
+                        .description("Committed ticket creations and status transitions")
+                        .tag("from", previous == 0 ? CREATED : Status.values()[previous - 1].name())
+                        .tag("to", status.name())
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public void recordResults(Query query, int size) {
+        resultSizes[query.ordinal()].record(size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if(event.previousStatus() == null || event.isTransition()) {
+            int previous = event.previousStatus() == null ? 0 : event.previousStatus().ordinal() + 1;
+            transitions[previous][event.status().ordinal()].increment();
+        }
+    }
+
+    public void recordError(Throwable ex, HttpStatusCode status) {
+        errors.computeIfAbsent(ex.getClass(), type -> Counter.builder(ERRORS)
+                .description("Exceptions mapped to error responses")
+                .tag("exception", type.getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * @param route the matched handler pattern, so the number of series stays bounded
+     */
+    public void recordRequestStatements(String method, String route, long statements) {
+        requestStatements.computeIfAbsent(method + ' ' + route, key -> DistributionSummary.builder(REQUEST_STATEMENTS)
+                .description("JDBC round trips per HTTP request")
+                .tag("method", method)
+                .tag("uri", route)
+                .register(meterRegistry)).record(statements);
+    }
+
+    public void recordSqlBudgetExceeded(String method, String route) {
+        sqlBudgetsExceeded.computeIfAbsent(method + ' ' + route, key -> Counter.builder(SQL_BUDGET_EXCEEDED)
+                .description("HTTP requests that made more database round trips than their SQL budget")
+                .tag("method", method)
+                .tag("uri", route)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,62 @@
+package com.learnings.ticketapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every {@link com.learnings.ticketapi.service.TicketService} call as
+ * {@value #SERVICE_TIMER}, tagged with the method and the exception it ended with. It runs
+ * inside the cache advice, so cache hits show up in the cache metrics rather than here, and
+ * outside the JDBC gate, so time spent waiting for a permit is included.
+ * <p>
+ * Timers are cached per method name, so a successful call records with no allocation beyond
+ * the join point itself; unlike {@code @Timed} no builder or tags are created per call.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TicketServiceTimer {
+
+    public static final String SERVICE_TIMER = "ticket.service";
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TicketServiceTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.learnings.ticketapi.service.TicketService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String method = joinPoint.getSignature().getName();
+        try {
+            Object result = joinPoint.proceed();
+            timers.computeIfAbsent(method, name -> timer(name, NO_EXCEPTION))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable ex) {
+            timer(method, ex.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(String method, String exception) {
+        return Timer.builder(SERVICE_TIMER)
+                .description("TicketService method latency")
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,67 @@
+package com.learnings.ticketapi.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ticket_outbox")
+public class OutboxEvent {
+
+    public static final String ID_SEQUENCE = "ticket_outbox_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = 50)
+    private Long id;
+
+    private Long ticketId;
+
+    @Enumerated(EnumType.STRING)
+    private Status previousStatus;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private Long agentId;
+
+    private LocalDateTime occurredAt;
+
+    public OutboxEvent() {}
+
+    public OutboxEvent(Long ticketId, Status previousStatus, Status status, Long agentId, LocalDateTime occurredAt) {
+        this.ticketId = ticketId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.agentId = agentId;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public Status getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getAgentId() {
+        return agentId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -1,15 +1,23 @@
 package com.learnings.ticketapi.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+// Entity updates write only the columns that changed, never the full row.
 @Entity
+@DynamicUpdate
 public class Ticket {
 
+    public static final String ID_SEQUENCE = "ticket_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // A pooled sequence (unlike IDENTITY) lets Hibernate assign ids up front and batch the inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     private String description;
@@ -27,6 +35,12 @@ public class Ticket {
     @JoinColumn(name = "assignedAgentId")
     private Agent assignedAgent;
 
+    @Version
+    private Long version;
+
+    // The open ticket this one was detected as a duplicate of, if any.
+    private Long duplicateOfId;
+
     public Ticket() {}
 
     public Ticket(Long id,String description, Status status, LocalDateTime createdDate) {
@@ -92,6 +106,22 @@ public class Ticket {
         this.assignedAgent = assignedAgent;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getDuplicateOfId() {
+        return duplicateOfId;
+    }
+
+    public void setDuplicateOfId(Long duplicateOfId) {
+        this.duplicateOfId = duplicateOfId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
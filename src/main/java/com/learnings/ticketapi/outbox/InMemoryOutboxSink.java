@@ -0,0 +1,42 @@
+package com.learnings.ticketapi.outbox;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes outbox messages to in-process {@link OutboxSubscriber}s: every subscriber bean, plus
+ * any registered at runtime. A batch counts as delivered once every subscriber has accepted
+ * it, so a failing subscriber keeps the rows in the outbox table. With no subscribers there
+ * is nobody to deliver to and batches are accepted as they are, so the table still drains.
+ */
+@Component
+@ConditionalOnProperty(name = "ticket.outbox.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxSubscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public InMemoryOutboxSink(ObjectProvider<OutboxSubscriber> subscribers) {
+        subscribers.orderedStream().forEach(this.subscribers::add);
+    }
+
+    public void subscribe(OutboxSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(OutboxSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public boolean deliver(List<TicketOutboxMessage> batch) throws Exception {
+        List<TicketOutboxMessage> messages = List.copyOf(batch);
+        for(OutboxSubscriber subscriber : subscribers) {
+            subscriber.onMessages(messages);
+        }
+        return true;
+    }
+}
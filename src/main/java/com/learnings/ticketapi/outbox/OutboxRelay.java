@@ -0,0 +1,79 @@
+package com.learnings.ticketapi.outbox;
+
+import com.learnings.ticketapi.model.OutboxEvent;
+import com.learnings.ticketapi.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+/**
+ * Drains the outbox to the configured {@link OutboxSink} in id order, which is not commit
+ * order (see {@link TicketOutboxMessage}). Each batch is read,
+ * delivered and deleted in one transaction, so a batch is only removed after the sink has
+ * accepted it; a crash between delivery and commit redelivers it (at-least-once).
+ * <p>
+ * A run stops at the first batch the sink refuses or fails on and waits for the next
+ * interval, and never drains more than {@code ticket.outbox.max-batches-per-run} batches, so
+ * a backlog is worked off at a bounded rate.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       TransactionOperations transactionOperations,
+                       @Value("${ticket.outbox.batch-size:500}") int batchSize,
+                       @Value("${ticket.outbox.max-batches-per-run:20}") int maxBatchesPerRun) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${ticket.outbox.relay-interval:PT1S}")
+    public void drain() {
+        for(int run = 0; run < maxBatchesPerRun; run++) {
+            Integer delivered = transactionOperations.execute(status -> drainBatch());
+            if(delivered == null || delivered < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the number of rows delivered, or -1 if the sink refused the batch
+     */
+    private int drainBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.findOldest(PageRequest.of(0, batchSize));
+        if(batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            if(!outboxSink.deliver(batch.stream().map(TicketOutboxMessage::from).toList())) {
+                return -1;
+            }
+        } catch (Exception ex) {
+            log.warn("Outbox delivery of {} events failed, retrying on the next run", batch.size(), ex);
+            return -1;
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+        return batch.size();
+    }
+}
@@ -0,0 +1,12 @@
+package com.learnings.ticketapi.outbox;
+
+import java.util.List;
+
+/**
+ * Destination for drained outbox rows. Returning false (or throwing) leaves the batch in the
+ * outbox for the next relay run, which is how a slow sink pushes back on the relay.
+ */
+public interface OutboxSink {
+
+    boolean deliver(List<TicketOutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,15 @@
+package com.learnings.ticketapi.outbox;
+
+import java.util.List;
+
+/**
+ * In-process consumer of delivered outbox messages. Subscribers are called on the relay
+ * thread inside the relay's transaction, so they should hand slow work off rather than do it
+ * inline. Throwing leaves the batch in the outbox, and the next run redelivers it to every
+ * subscriber, so subscribers have to tolerate messages they have already seen.
+ */
+@FunctionalInterface
+public interface OutboxSubscriber {
+
+    void onMessages(List<TicketOutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,32 @@
+package com.learnings.ticketapi.outbox;
+
+import com.learnings.ticketapi.model.OutboxEvent;
+import com.learnings.ticketapi.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * A delivered outbox row. Delivery is at-least-once, so consumers should de-duplicate on
+ * {@code id}, which is unique but not ordered by commit: ids are handed out in blocks from a
+ * pooled sequence and transactions commit concurrently, so a row with a lower id can be
+ * delivered after one with a higher id. Keep the ids already seen rather than a high-water
+ * mark, and use {@code occurredAt} to order the changes of one ticket.
+ */
+public record TicketOutboxMessage(Long id,
+                                  Long ticketId,
+                                  Status previousStatus,
+                                  Status status,
+                                  Long agentId,
+                                  LocalDateTime occurredAt) {
+
+    public static TicketOutboxMessage from(OutboxEvent event) {
+        return new TicketOutboxMessage(
+                event.getId(),
+                event.getTicketId(),
+                event.getPreviousStatus(),
+                event.getStatus(),
+                event.getAgentId(),
+                event.getOccurredAt()
+        );
+    }
+}
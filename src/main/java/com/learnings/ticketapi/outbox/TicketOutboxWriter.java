@@ -0,0 +1,38 @@
+package com.learnings.ticketapi.outbox;
+
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.OutboxEvent;
+import com.learnings.ticketapi.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Appends an outbox row for every status transition. The listener runs just before the
+ * publishing transaction commits, so the row is written in the same transaction as the
+ * ticket change and commits or rolls back with it. Changes published outside a JPA
+ * transaction, such as those of the reactive service, write their own row and are skipped.
+ */
+@Component
+public class TicketOutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    public TicketOutboxWriter(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if(!event.isTransition()) {
+            return;
+        }
+        outboxEventRepository.save(new OutboxEvent(
+                event.ticketId(),
+                event.previousStatus(),
+                event.status(),
+                event.agentId(),
+                event.occurredAt()
+        ));
+    }
+}
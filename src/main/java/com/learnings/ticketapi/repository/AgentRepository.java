@@ -1,9 +1,24 @@
 package com.learnings.ticketapi.repository;
 
 import com.learnings.ticketapi.model.Agent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface AgentRepository extends JpaRepository<Agent, Long> {
+
+    /**
+     * Served from the Hibernate query cache, which is invalidated whenever the agent
+     * table is written through Hibernate.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select a.id from Agent a where a.name = :name")
+    List<Long> findIdsByName(@Param("name") String name);
 }
@@ -0,0 +1,37 @@
+package com.learnings.ticketapi.repository;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of the ticket reads and guarded transitions in {@link TicketRepository}.
+ * The update methods emit the number of rows changed, which is 0 when the version or status
+ * guard did not match.
+ */
+public interface ReactiveTicketRepository {
+
+    /**
+     * @return the matching tickets ordered by created date and id, emitted as rows arrive
+     */
+    Flux<TicketDto> findDtosWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent);
+
+    Mono<TicketDto> findDtoById(Long id);
+
+    Mono<VersionedTicketView> findVersionedById(Long id);
+
+    Mono<String> findAgentNameById(Long agentId);
+
+    Mono<Long> assignAgentById(Long id, Long agentId, Status currentStatus, Status newStatus, Long version);
+
+    Mono<Long> updateStatusById(Long id, Status currentStatus, Status newStatus, Long version);
+
+    Mono<Long> closeById(Long id, Status currentStatus, Status newStatus, LocalDateTime closedDate, Long version);
+
+    Mono<Void> insertOutboxEvent(Long ticketId, Status previousStatus, Status status, Long agentId, LocalDateTime occurredAt);
+}
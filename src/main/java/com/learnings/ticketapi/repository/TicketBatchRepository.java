@@ -0,0 +1,13 @@
+package com.learnings.ticketapi.repository;
+
+import com.learnings.ticketapi.model.Ticket;
+
+import java.util.List;
+
+public interface TicketBatchRepository {
+    /**
+     * Persists new tickets in JDBC batches, flushing and clearing the persistence context
+     * after every batch. The returned tickets are detached and carry their generated ids.
+     */
+    List<Ticket> insertAll(List<Ticket> tickets);
+}
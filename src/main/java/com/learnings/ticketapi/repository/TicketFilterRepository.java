@@ -1,10 +1,15 @@
 package com.learnings.ticketapi.repository;
 
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.projection.TicketListFingerprint;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TicketFilterRepository {
     List<Ticket> findWithFilters(
@@ -13,4 +18,70 @@ public interface TicketFilterRepository {
             LocalDateTime endDate,
             String assignedAgent
     );
+
+    /**
+     * Same filters as {@link #findWithFilters}, but selects the {@link TicketDto} columns
+     * (agent name included) in a single statement without loading managed entities.
+     */
+    List<TicketDto> findDtosWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent
+    );
+
+    List<Long> findIdsWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent
+    );
+
+    /**
+     * Keyset page ordered by (createdDate, id). Only tickets positioned strictly after
+     * the given key are returned; pass null for both key parts to read the first page.
+     */
+    List<TicketDto> findPageWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent,
+            LocalDateTime afterCreatedDate,
+            Long afterId,
+            int limit
+    );
+
+    /**
+     * Streams the filtered tickets in (createdDate, id) order. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    Stream<TicketDto> streamWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent
+    );
+
+    /**
+     * Computes status, agent and created-date counts and the mean time to close in SQL,
+     * over the same filters as {@link #findWithFilters}.
+     */
+    TicketStatsDto computeStatsWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent,
+            DateBucket bucket
+    );
+
+    /**
+     * Count, id sum and version sum of the filtered tickets in one aggregate query, used as a
+     * weak validator for the filtered list.
+     */
+    TicketListFingerprint computeFingerprintWithFilters(
+            List<Status> statuses,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            String assignedAgent
+    );
 }
@@ -1,15 +1,117 @@
 package com.learnings.ticketapi.repository;
 
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Agent;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.projection.TicketCountView;
+import com.learnings.ticketapi.repository.projection.TicketStateView;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketFilterRepository {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketFilterRepository, TicketBatchRepository {
 
+    @Query("select new com.learnings.ticketapi.repository.projection.TicketStateView(" +
+            "t.id, t.status, a.id, " +
+            "case when t.resolutionSummary is null or t.resolutionSummary = '' then false else true end, t.version) " +
+            "from Ticket t left join t.assignedAgent a where t.id in :ids")
+    List<TicketStateView> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.learnings.ticketapi.dto.TicketDto(" +
+            "t.id, t.description, t.status, t.createdDate, t.closedDate, a.name, t.resolutionSummary) " +
+            "from Ticket t left join t.assignedAgent a where t.id in :ids")
+    List<TicketDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.learnings.ticketapi.repository.projection.VersionedTicketView(" +
+            "t.id, t.description, t.status, t.createdDate, t.closedDate, a.name, t.resolutionSummary, a.id, t.version) " +
+            "from Ticket t left join t.assignedAgent a where t.id in :ids")
+    List<VersionedTicketView> findVersionedByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.learnings.ticketapi.repository.projection.TicketCountView(t.status, a.id, count(t)) " +
+            "from Ticket t left join t.assignedAgent a group by t.status, a.id")
+    List<TicketCountView> countByStatusAndAgent();
+
+    @Query("select new com.learnings.ticketapi.repository.projection.TicketCountView(t.status, a.id, count(t)) " +
+            "from Ticket t left join t.assignedAgent a where t.id in :ids group by t.status, a.id")
+    List<TicketCountView> countByStatusAndAgentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.learnings.ticketapi.archive.ArchivedTicket(" +
+            "t.id, t.description, t.createdDate, t.closedDate, a.name, t.resolutionSummary, t.version) " +
+            "from Ticket t left join t.assignedAgent a " +
+            "where t.status = :status and t.closedDate < :closedBefore order by t.id")
+    List<ArchivedTicket> findArchivable(@Param("status") Status status,
+                                        @Param("closedBefore") LocalDateTime closedBefore,
+                                        Pageable pageable);
+
+    /*
+     * Single-ticket transitions. Each is one conditional UPDATE guarded by the status and
+     * version the caller read, so a concurrent writer makes it match zero rows instead of
+     * being silently overwritten, and no row lock is held between the read and the write.
+     */
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.assignedAgent = :agent, t.version = t.version + 1 " +
+            "where t.id = :id and t.status = :currentStatus and t.version = :version")
+    int assignAgentById(@Param("id") Long id,
+                        @Param("agent") Agent agent,
+                        @Param("currentStatus") Status currentStatus,
+                        @Param("newStatus") Status newStatus,
+                        @Param("version") Long version);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.version = t.version + 1 " +
+            "where t.id = :id and t.status = :currentStatus and t.version = :version")
+    int updateStatusById(@Param("id") Long id,
+                         @Param("currentStatus") Status currentStatus,
+                         @Param("newStatus") Status newStatus,
+                         @Param("version") Long version);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.closedDate = :closedDate, t.version = t.version + 1 " +
+            "where t.id = :id and t.status = :currentStatus and t.version = :version " +
+            "and t.resolutionSummary is not null and t.resolutionSummary <> ''")
+    int closeById(@Param("id") Long id,
+                  @Param("currentStatus") Status currentStatus,
+                  @Param("newStatus") Status newStatus,
+                  @Param("closedDate") LocalDateTime closedDate,
+                  @Param("version") Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.assignedAgent = :agent, t.version = t.version + 1 " +
+            "where t.id in :ids and t.status = :currentStatus")
+    int assignAgentByIdIn(@Param("ids") Collection<Long> ids,
+                          @Param("agent") Agent agent,
+                          @Param("currentStatus") Status currentStatus,
+                          @Param("newStatus") Status newStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.version = t.version + 1 " +
+            "where t.id in :ids and t.status = :currentStatus")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("currentStatus") Status currentStatus,
+                           @Param("newStatus") Status newStatus);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Ticket t set t.status = :newStatus, t.closedDate = :closedDate, t.version = t.version + 1 " +
+            "where t.id in :ids and t.status = :currentStatus " +
+            "and t.resolutionSummary is not null and t.resolutionSummary <> ''")
+    int closeByIdIn(@Param("ids") Collection<Long> ids,
+                    @Param("currentStatus") Status currentStatus,
+                    @Param("newStatus") Status newStatus,
+                    @Param("closedDate") LocalDateTime closedDate);
 }
@@ -0,0 +1,164 @@
+package com.learnings.ticketapi.repository.impl;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.ReactiveTicketRepository;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@ConditionalOnProperty(name = "ticket.reactive.enabled", havingValue = "true")
+public class R2dbcTicketRepository implements ReactiveTicketRepository {
+
+    private static final String SELECT_TICKET = """
+            SELECT t.id, t.description, t.status, t.created_date, t.closed_date, a.name AS agent_name,
+                   t.resolution_summary, t.assigned_agent_id, t.version
+            FROM ticket t LEFT JOIN agent a ON a.id = t.assigned_agent_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public R2dbcTicketRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<TicketDto> findDtosWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        StringBuilder sql = new StringBuilder(SELECT_TICKET).append("WHERE 1 = 1");
+        Map<String, Object> binds = new LinkedHashMap<>();
+
+        if(statuses != null && !statuses.isEmpty()) {
+            sql.append(" AND t.status IN (:statuses)");
+            binds.put("statuses", statuses.stream().map(Status::name).toList());
+        }
+        if(startDate != null) {
+            sql.append(" AND t.created_date >= :startDate");
+            binds.put("startDate", startDate);
+        }
+        if(endDate != null) {
+            sql.append(" AND t.created_date <= :endDate");
+            binds.put("endDate", endDate);
+        }
+        if(assignedAgent != null && !assignedAgent.trim().isEmpty()) {
+            // Same plain equality on the foreign key as the JPA filter, resolved in the statement itself.
+            sql.append(" AND t.assigned_agent_id IN (SELECT id FROM agent WHERE name = :assignedAgent)");
+            binds.put("assignedAgent", assignedAgent);
+        }
+        sql.append(" ORDER BY t.created_date, t.id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for(Map.Entry<String, Object> bind : binds.entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec.map(R2dbcTicketRepository::toDto).all();
+    }
+
+    @Override
+    public Mono<TicketDto> findDtoById(Long id) {
+        return databaseClient.sql(SELECT_TICKET + "WHERE t.id = :id")
+                .bind("id", id)
+                .map(R2dbcTicketRepository::toDto)
+                .one();
+    }
+
+    @Override
+    public Mono<VersionedTicketView> findVersionedById(Long id) {
+        return databaseClient.sql(SELECT_TICKET + "WHERE t.id = :id")
+                .bind("id", id)
+                .map(row -> new VersionedTicketView(toDto(row), row.get("assigned_agent_id", Long.class), row.get("version", Long.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<String> findAgentNameById(Long agentId) {
+        return databaseClient.sql("SELECT name FROM agent WHERE id = :id")
+                .bind("id", agentId)
+                .map(row -> row.get("name", String.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> assignAgentById(Long id, Long agentId, Status currentStatus, Status newStatus, Long version) {
+        return databaseClient.sql("""
+                        UPDATE ticket SET status = :newStatus, assigned_agent_id = :agentId, version = version + 1
+                        WHERE id = :id AND status = :currentStatus AND version = :version
+                        """)
+                .bind("newStatus", newStatus.name())
+                .bind("agentId", agentId)
+                .bind("id", id)
+                .bind("currentStatus", currentStatus.name())
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> updateStatusById(Long id, Status currentStatus, Status newStatus, Long version) {
+        return databaseClient.sql("""
+                        UPDATE ticket SET status = :newStatus, version = version + 1
+                        WHERE id = :id AND status = :currentStatus AND version = :version
+                        """)
+                .bind("newStatus", newStatus.name())
+                .bind("id", id)
+                .bind("currentStatus", currentStatus.name())
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> closeById(Long id, Status currentStatus, Status newStatus, LocalDateTime closedDate, Long version) {
+        return databaseClient.sql("""
+                        UPDATE ticket SET status = :newStatus, closed_date = :closedDate, version = version + 1
+                        WHERE id = :id AND status = :currentStatus AND version = :version
+                        """)
+                .bind("newStatus", newStatus.name())
+                .bind("closedDate", closedDate)
+                .bind("id", id)
+                .bind("currentStatus", currentStatus.name())
+                .bind("version", version)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Takes a whole block of the pooled outbox sequence for one row. The value fetched lies in
+     * the block it reserves whichever end Hibernate's optimizer treats as the base, so it can
+     * never collide with ids the JPA writer hands out.
+     */
+    @Override
+    public Mono<Void> insertOutboxEvent(Long ticketId, Status previousStatus, Status status, Long agentId, LocalDateTime occurredAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        INSERT INTO ticket_outbox (id, ticket_id, previous_status, status, agent_id, occurred_at)
+                        VALUES (NEXT VALUE FOR ticket_outbox_seq, :ticketId, :previousStatus, :status, :agentId, :occurredAt)
+                        """)
+                .bind("ticketId", ticketId)
+                .bind("status", status.name())
+                .bind("occurredAt", occurredAt);
+        spec = previousStatus == null ? spec.bindNull("previousStatus", String.class) : spec.bind("previousStatus", previousStatus.name());
+        spec = agentId == null ? spec.bindNull("agentId", Long.class) : spec.bind("agentId", agentId);
+        return spec.then();
+    }
+
+    private static TicketDto toDto(Readable row) {
+        return new TicketDto(
+                row.get("id", Long.class),
+                row.get("description", String.class),
+                Status.valueOf(row.get("status", String.class)),
+                row.get("created_date", LocalDateTime.class),
+                row.get("closed_date", LocalDateTime.class),
+                row.get("agent_name", String.class),
+                row.get("resolution_summary", String.class)
+        );
+    }
+}
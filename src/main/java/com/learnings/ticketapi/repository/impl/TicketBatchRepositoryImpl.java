@@ -0,0 +1,35 @@
+package com.learnings.ticketapi.repository.impl;
+
+import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.TicketBatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public class TicketBatchRepositoryImpl implements TicketBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public List<Ticket> insertAll(List<Ticket> tickets) {
+        for(int i = 0; i < tickets.size(); i++) {
+            entityManager.persist(tickets.get(i));
+            if((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return tickets;
+    }
+}
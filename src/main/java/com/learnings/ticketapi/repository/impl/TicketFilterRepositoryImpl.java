@@ -1,42 +1,269 @@
 package com.learnings.ticketapi.repository.impl;
 
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
 import com.learnings.ticketapi.model.Agent;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.AgentRepository;
 import com.learnings.ticketapi.repository.TicketFilterRepository;
+import com.learnings.ticketapi.repository.projection.TicketListFingerprint;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.sqm.TemporalUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 public class TicketFilterRepositoryImpl implements TicketFilterRepository {
 
+    public static final String ID_FIELD = "id";
+    public static final String DESCRIPTION_FIELD = "description";
     public static final String STATUS_FIELD = "status";
     public static final String CREATED_DATE_FIELD = "createdDate";
+    public static final String CLOSED_DATE_FIELD = "closedDate";
+    public static final String RESOLUTION_SUMMARY_FIELD = "resolutionSummary";
     public static final String NAME_FIELD = "name";
     public static final String ASSIGNED_AGENT_FIELD = "assignedAgent";
+    public static final String VERSION_FIELD = "version";
+    public static final int STREAM_FETCH_SIZE = 500;
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Autowired
+    private AgentRepository agentRepository;
+
     @Override
     public List<Ticket> findWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Ticket> query = cb.createQuery(Ticket.class);
         Root<Ticket> ticketRoot = query.from(Ticket.class);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<TicketDto> findDtosWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+        Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT_FIELD, JoinType.LEFT);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        query.select(selectTicketDto(cb, ticketRoot, agentJoin));
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Long> findIdsWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        query.select(ticketRoot.get(ID_FIELD));
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<TicketDto> findPageWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent,
+                                               LocalDateTime afterCreatedDate, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+        Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT_FIELD, JoinType.LEFT);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        if(afterCreatedDate != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.greaterThan(ticketRoot.get(CREATED_DATE_FIELD), afterCreatedDate),
+                    cb.and(
+                            cb.equal(ticketRoot.get(CREATED_DATE_FIELD), afterCreatedDate),
+                            cb.greaterThan(ticketRoot.get(ID_FIELD), afterId)
+                    )
+            ));
+        }
+
+        query.select(selectTicketDto(cb, ticketRoot, agentJoin));
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(ticketRoot.get(CREATED_DATE_FIELD)), cb.asc(ticketRoot.get(ID_FIELD)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TicketDto> streamWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+        Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT_FIELD, JoinType.LEFT);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        query.select(selectTicketDto(cb, ticketRoot, agentJoin));
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(ticketRoot.get(CREATED_DATE_FIELD)), cb.asc(ticketRoot.get(ID_FIELD)));
+
+        // Projected rows are not managed, so the persistence context stays empty however
+        // many rows are streamed.
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public TicketStatsDto computeStatsWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent, DateBucket bucket) {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        Map<String, Long> byAgent = new TreeMap<>();
+        long unassigned = 0;
+        long total = 0;
+
+        for(Tuple row : countByStatusAndAgent(statuses, startDate, endDate, assignedAgent)) {
+            Status status = row.get(0, Status.class);
+            String agentName = row.get(1, String.class);
+            long count = row.get(2, Long.class);
+
+            byStatus.merge(status, count, Long::sum);
+            if(agentName == null) {
+                unassigned += count;
+            }
+            else {
+                byAgent.merge(agentName, count, Long::sum);
+            }
+            total += count;
+        }
+
+        Map<LocalDateTime, Long> byCreatedDate = new TreeMap<>();
+        for(Tuple row : countByCreatedDate(statuses, startDate, endDate, assignedAgent, bucket)) {
+            LocalDateTime bucketStart = LocalDateTime.of(
+                    row.get(0, Integer.class),
+                    row.get(1, Integer.class),
+                    row.get(2, Integer.class),
+                    bucket == DateBucket.HOUR ? row.get(3, Integer.class) : 0,
+                    0);
+            byCreatedDate.put(bucketStart, row.get(row.getElements().size() - 1, Long.class));
+        }
+
+        Double meanTimeToCloseSeconds = meanTimeToCloseSeconds(statuses, startDate, endDate, assignedAgent);
+
+        return new TicketStatsDto(total, byStatus, byAgent, unassigned, byCreatedDate, meanTimeToCloseSeconds);
+    }
+
+    @Override
+    public TicketListFingerprint computeFingerprintWithFilters(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketListFingerprint> query = cb.createQuery(TicketListFingerprint.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        query.select(cb.construct(TicketListFingerprint.class,
+                cb.count(ticketRoot),
+                cb.sum(ticketRoot.<Long>get(ID_FIELD)),
+                cb.sum(ticketRoot.<Long>get(VERSION_FIELD))));
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Tuple> countByStatusAndAgent(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
         Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT_FIELD, JoinType.LEFT);
 
-        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb, agentJoin);
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
 
+        Path<Status> status = ticketRoot.get(STATUS_FIELD);
+        Path<String> agentName = agentJoin.get(NAME_FIELD);
+        query.multiselect(status, agentName, cb.count(ticketRoot));
         query.where(predicates.toArray(new Predicate[0]));
+        query.groupBy(status, agentName);
 
         return entityManager.createQuery(query).getResultList();
     }
 
-    private List<Predicate> buildPredicates(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent, Root<Ticket> ticketRoot, CriteriaBuilder cb, Join<Ticket, Agent> agentJoin) {
+    private List<Tuple> countByCreatedDate(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent, DateBucket bucket) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        Path<LocalDateTime> createdDate = ticketRoot.get(CREATED_DATE_FIELD);
+        List<Expression<?>> bucketParts = new ArrayList<>(List.of(
+                cb.function("year", Integer.class, createdDate),
+                cb.function("month", Integer.class, createdDate),
+                cb.function("day", Integer.class, createdDate)
+        ));
+        if(bucket == DateBucket.HOUR) {
+            bucketParts.add(cb.function("hour", Integer.class, createdDate));
+        }
+
+        List<Selection<?>> selections = new ArrayList<>(bucketParts);
+        selections.add(cb.count(ticketRoot));
+
+        query.multiselect(selections);
+        query.where(predicates.toArray(new Predicate[0]));
+        query.groupBy(bucketParts);
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private Double meanTimeToCloseSeconds(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Double> query = cb.createQuery(Double.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+
+        List<Predicate> predicates = buildPredicates(statuses, startDate, endDate, assignedAgent, ticketRoot, cb);
+
+        Path<LocalDateTime> createdDate = ticketRoot.get(CREATED_DATE_FIELD);
+        Path<LocalDateTime> closedDate = ticketRoot.get(CLOSED_DATE_FIELD);
+        predicates.add(cb.isNotNull(closedDate));
+
+        query.select(cb.avg(cb.durationByUnit(TemporalUnit.SECOND, cb.durationBetween(closedDate, createdDate))));
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private CompoundSelection<TicketDto> selectTicketDto(CriteriaBuilder cb, Root<Ticket> ticketRoot, Join<Ticket, Agent> agentJoin) {
+        return cb.construct(TicketDto.class,
+                ticketRoot.get(ID_FIELD),
+                ticketRoot.get(DESCRIPTION_FIELD),
+                ticketRoot.get(STATUS_FIELD),
+                ticketRoot.get(CREATED_DATE_FIELD),
+                ticketRoot.get(CLOSED_DATE_FIELD),
+                agentJoin.get(NAME_FIELD),
+                ticketRoot.get(RESOLUTION_SUMMARY_FIELD));
+    }
+
+    private List<Predicate> buildPredicates(List<Status> statuses, LocalDateTime startDate, LocalDateTime endDate, String assignedAgent, Root<Ticket> ticketRoot, CriteriaBuilder cb) {
         List<Predicate> predicates = new ArrayList<>();
 
         if(statuses != null && !statuses.isEmpty()) {
@@ -54,7 +281,15 @@ public class TicketFilterRepositoryImpl implements TicketFilterRepository {
         }
 
         if(assignedAgent != null && !assignedAgent.trim().isEmpty()) {
-            predicates.add(cb.equal(agentJoin.get(NAME_FIELD), assignedAgent));
+            // Resolve the name through the cached agent lookup so the ticket predicate is a
+            // plain equality on the assignedAgentId foreign key rather than a filter on the join.
+            List<Long> agentIds = agentRepository.findIdsByName(assignedAgent);
+            if(agentIds.isEmpty()) {
+                predicates.add(cb.disjunction());
+            }
+            else {
+                predicates.add(ticketRoot.get(ASSIGNED_AGENT_FIELD).get(ID_FIELD).in(agentIds));
+            }
         }
         return predicates;
     }
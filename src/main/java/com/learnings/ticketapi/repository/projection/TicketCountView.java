@@ -0,0 +1,8 @@
+package com.learnings.ticketapi.repository.projection;
+
+import com.learnings.ticketapi.model.Status;
+
+public record TicketCountView(Status status,
+                              Long agentId,
+                              Long count) {
+}
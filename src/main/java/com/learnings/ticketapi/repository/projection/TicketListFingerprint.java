@@ -0,0 +1,17 @@
+package com.learnings.ticketapi.repository.projection;
+
+/**
+ * Cheap summary of a filtered ticket list. Any ticket entering or leaving the list changes
+ * the count or id sum, and any write to a member bumps its version and so the version sum.
+ * The sums are null for an empty list.
+ */
+public record TicketListFingerprint(Long count,
+                                    Long idSum,
+                                    Long versionSum) {
+
+    public String tag() {
+        return Long.toHexString(count) + "-"
+                + Long.toHexString(idSum == null ? 0 : idSum) + "-"
+                + Long.toHexString(versionSum == null ? 0 : versionSum);
+    }
+}
@@ -0,0 +1,13 @@
+package com.learnings.ticketapi.repository.projection;
+
+import com.learnings.ticketapi.model.Status;
+
+/**
+ * The columns a state transition has to check, without loading the ticket's text fields.
+ */
+public record TicketStateView(Long id,
+                              Status status,
+                              Long agentId,
+                              Boolean hasResolutionSummary,
+                              Long version) {
+}
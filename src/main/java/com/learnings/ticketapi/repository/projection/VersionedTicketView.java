@@ -0,0 +1,29 @@
+package com.learnings.ticketapi.repository.projection;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ticket together with what a conditional update needs to guard on.
+ */
+public record VersionedTicketView(TicketDto ticket,
+                                  Long agentId,
+                                  Long version) {
+
+    /**
+     * Flat form for JPQL constructor expressions, which cannot nest.
+     */
+    public VersionedTicketView(Long id,
+                               String description,
+                               Status status,
+                               LocalDateTime createdDate,
+                               LocalDateTime closedDate,
+                               String assignedAgent,
+                               String resolutionSummary,
+                               Long agentId,
+                               Long version) {
+        this(new TicketDto(id, description, status, createdDate, closedDate, assignedAgent, resolutionSummary), agentId, version);
+    }
+}
@@ -0,0 +1,9 @@
+package com.learnings.ticketapi.search;
+
+import java.util.List;
+
+/**
+ * Ticket ids of one window of search results, best match first.
+ */
+public record TicketSearchHits(List<Long> ticketIds) {
+}
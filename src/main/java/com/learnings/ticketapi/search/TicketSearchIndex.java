@@ -0,0 +1,261 @@
+package com.learnings.ticketapi.search;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process Lucene index over ticket description and resolution summary. It is rebuilt from
+ * the database at startup and then kept current from committed {@link TicketChangedEvent}s,
+ * which carry the ticket's full post-change state. Archived tickets are removed. Status,
+ * created date and agent are indexed as well so the {@link TicketFilterDto} predicates are
+ * applied inside the index and ranking and paging only ever consider matching tickets.
+ * <p>
+ * Listeners of two commits to the same ticket can run in either order, so the version of
+ * every ticket indexed from an event is kept and an event older than it is ignored. Changes
+ * heard while a rebuild runs are held and applied after its snapshot, so the snapshot never
+ * overwrites a change that committed during it.
+ */
+@Component
+public class TicketSearchIndex implements DisposableBean {
+
+    public static final String ID_FIELD = "id";
+    public static final String DESCRIPTION_FIELD = "description";
+    public static final String RESOLUTION_SUMMARY_FIELD = "resolutionSummary";
+    public static final String STATUS_FIELD = "status";
+    public static final String CREATED_DATE_FIELD = "createdDate";
+    public static final String ASSIGNED_AGENT_FIELD = "assignedAgent";
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+            DESCRIPTION_FIELD, 2.0f,
+            RESOLUTION_SUMMARY_FIELD, 1.0f
+    );
+
+    private final TicketRepository ticketRepository;
+    private final TransactionOperations transactionOperations;
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ConcurrentHashMap<Long, Long> indexedVersions = new ConcurrentHashMap<>();
+
+    // Listeners share the read lock; a rebuild takes the write lock only to start holding
+    // changes and to apply them, so none is lost between the two.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private ConcurrentLinkedQueue<Runnable> pendingChanges;
+
+    public TicketSearchIndex(TicketRepository ticketRepository,
+                             TransactionOperations transactionOperations,
+                             @Value("${ticket.search.index-path:}") String indexPath) throws IOException {
+        this.ticketRepository = ticketRepository;
+        this.transactionOperations = transactionOperations;
+        // The index is always rebuilt at startup; a path only moves it off the heap.
+        this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+        this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            pendingChanges = new ConcurrentLinkedQueue<>();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        try {
+            indexWriter.deleteAll();
+            indexedVersions.clear();
+            transactionOperations.execute(status -> {
+                try (Stream<TicketDto> tickets = ticketRepository.streamWithFilters(null, null, null, null)) {
+                    tickets.forEach(this::index);
+                }
+                return null;
+            });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            rebuildLock.writeLock().lock();
+            try {
+                pendingChanges.forEach(Runnable::run);
+                pendingChanges = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+        }
+
+        try {
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        apply(() -> indexedVersions.compute(event.ticketId(), (ticketId, indexedVersion) -> {
+            if(indexedVersion != null && indexedVersion >= event.version()) {
+                return indexedVersion;
+            }
+            index(event.ticket());
+            return event.version();
+        }));
+    }
+
+    /**
+     * Archived tickets are only served by id from the archive, so they leave the index.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketsArchived(TicketsArchivedEvent event) {
+        Term[] ids = event.ticketIds().stream()
+                .map(ticketId -> new Term(ID_FIELD, ticketId.toString()))
+                .toArray(Term[]::new);
+        apply(() -> {
+            try {
+                indexWriter.deleteDocuments(ids);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            event.ticketIds().forEach(indexedVersions::remove);
+        });
+    }
+
+    public void index(TicketDto ticket) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, ticket.id().toString(), Field.Store.YES));
+        document.add(new StringField(STATUS_FIELD, ticket.status().name(), Field.Store.NO));
+        document.add(new LongPoint(CREATED_DATE_FIELD, toEpochMillis(ticket.createdDate())));
+        if(ticket.assignedAgent() != null) {
+            document.add(new StringField(ASSIGNED_AGENT_FIELD, ticket.assignedAgent(), Field.Store.NO));
+        }
+        if(ticket.description() != null) {
+            document.add(new TextField(DESCRIPTION_FIELD, ticket.description(), Field.Store.NO));
+        }
+        if(ticket.resolutionSummary() != null) {
+            document.add(new TextField(RESOLUTION_SUMMARY_FIELD, ticket.resolutionSummary(), Field.Store.NO));
+        }
+
+        try {
+            indexWriter.updateDocument(new Term(ID_FIELD, ticket.id().toString()), document);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Ranks the tickets matching all words of {@code text} (simple query syntax: quotes for
+     * phrases, {@code -} to exclude, {@code *} for prefixes) within the filter.
+     */
+    public TicketSearchHits search(String text, TicketFilterDto filter, int offset, int limit) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, FIELD_WEIGHTS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(parser.parse(text), BooleanClause.Occur.MUST);
+        addFilters(query, filter);
+
+        try {
+            searcherManager.maybeRefresh();
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] scoreDocs = searcher.search(query.build(), offset + limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ticketIds = new ArrayList<>(Math.max(0, scoreDocs.length - offset));
+                for(int i = offset; i < scoreDocs.length; i++) {
+                    ticketIds.add(Long.valueOf(storedFields.document(scoreDocs[i].doc).get(ID_FIELD)));
+                }
+                return new TicketSearchHits(ticketIds);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    /**
+     * Applies the change now or, while a rebuild runs, after its snapshot.
+     */
+    private void apply(Runnable change) {
+        rebuildLock.readLock().lock();
+        try {
+            if(pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            else {
+                change.run();
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void addFilters(BooleanQuery.Builder query, TicketFilterDto filter) {
+        if(filter.status() != null && !filter.status().isEmpty()) {
+            BooleanQuery.Builder statuses = new BooleanQuery.Builder();
+            for(Status status : filter.status()) {
+                statuses.add(new TermQuery(new Term(STATUS_FIELD, status.name())), BooleanClause.Occur.SHOULD);
+            }
+            query.add(statuses.build(), BooleanClause.Occur.FILTER);
+        }
+
+        if(filter.startDate() != null || filter.endDate() != null) {
+            query.add(LongPoint.newRangeQuery(CREATED_DATE_FIELD,
+                    filter.startDate() != null ? toEpochMillis(filter.startDate()) : Long.MIN_VALUE,
+                    filter.endDate() != null ? toEpochMillis(filter.endDate()) : Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+
+        if(filter.assignedAgent() != null && !filter.assignedAgent().trim().isEmpty()) {
+            query.add(new TermQuery(new Term(ASSIGNED_AGENT_FIELD, filter.assignedAgent())), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,18 @@
+package com.learnings.ticketapi.service;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveTicketService {
+     Flux<TicketDto> getTickets(TicketFilterDto ticketFilterDto);
+
+     Mono<TicketDto> getTicketById(Long ticketId);
+
+     Mono<TicketDto> assignAgentToTicket(Long ticketId, Long agentId);
+
+     Mono<TicketDto> resolveTicket(Long ticketId);
+
+     Mono<TicketDto> closeTicket(Long ticketId);
+}
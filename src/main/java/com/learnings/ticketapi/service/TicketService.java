@@ -1,12 +1,25 @@
 package com.learnings.ticketapi.service;
 
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketBacklogDto;
+import com.learnings.ticketapi.dto.TicketBatchResultDto;
+import com.learnings.ticketapi.dto.TicketCreationDto;
 import com.learnings.ticketapi.dto.TicketDto;
 import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketPageDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.dto.VersionedTicketDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TicketService {
-     TicketDto createTicket(TicketDto ticketDto);
+     TicketCreationDto createTicket(TicketDto ticketDto);
+
+     List<TicketBatchResultDto> createTickets(List<TicketDto> ticketDtos);
 
      TicketDto assignAgentToTicket(Long ticketId, Long agentId);
 
@@ -14,9 +27,27 @@ public interface TicketService {
 
      TicketDto closeTicket(Long ticketId);
 
+     List<BulkTransitionResultDto> assignAgentToTickets(BulkTicketRequestDto request, Long agentId);
+
+     List<BulkTransitionResultDto> resolveTickets(BulkTicketRequestDto request);
+
+     List<BulkTransitionResultDto> closeTickets(BulkTicketRequestDto request);
+
      TicketDto updateTicket(Long ticketId, TicketDto ticketDto);
 
-     TicketDto getTicketById(Long ticketId);
+     VersionedTicketDto getVersionedTicketById(Long ticketId);
+
+     String getTicketsVersionTag(TicketFilterDto ticketFilterDto);
 
      List<TicketDto> getTickets(TicketFilterDto ticketFilterDto);
+
+     TicketPageDto getTicketPage(TicketFilterDto ticketFilterDto, String cursor, Integer pageSize);
+
+     void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer);
+
+     TicketStatsDto getTicketStats(TicketFilterDto ticketFilterDto, DateBucket bucket);
+
+     TicketBacklogDto getTicketBacklog();
+
+     TicketSearchPageDto searchTickets(String query, TicketFilterDto ticketFilterDto, Integer page, Integer pageSize);
 }
@@ -0,0 +1,193 @@
+package com.learnings.ticketapi.service.impl;
+
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.archive.TicketArchive;
+import com.learnings.ticketapi.config.CacheConfig;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.exception.AgentNotFoundException;
+import com.learnings.ticketapi.exception.InvalidDateRangeException;
+import com.learnings.ticketapi.exception.InvalidTicketStateException;
+import com.learnings.ticketapi.exception.MissingResolutionSummaryException;
+import com.learnings.ticketapi.exception.TicketConflictException;
+import com.learnings.ticketapi.exception.TicketNotFoundException;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.model.Ticket;
+import com.learnings.ticketapi.repository.ReactiveTicketRepository;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import com.learnings.ticketapi.service.ReactiveTicketService;
+import com.learnings.ticketapi.util.ErrorMessages;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Serves the reads and single-ticket transitions of {@link TicketServiceImpl} over R2DBC. A
+ * transition reads the ticket, applies the same checks and then updates it guarded by status
+ * and version, writing its outbox row in the same transaction. Once committed, the change event
+ * is published off the event loop so the counters, search index, subscribers and cache see
+ * it exactly as they see a change made by the blocking service.
+ */
+@Service
+@ConditionalOnProperty(name = "ticket.reactive.enabled", havingValue = "true")
+public class ReactiveTicketServiceImpl implements ReactiveTicketService {
+
+    private static final Comparator<TicketDto> CREATED_ORDER =
+            Comparator.comparing(TicketDto::createdDate).thenComparing(TicketDto::id);
+
+    private final ReactiveTicketRepository ticketRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final TicketArchive ticketArchive;
+
+    public ReactiveTicketServiceImpl(ReactiveTicketRepository ticketRepository,
+                                     TransactionalOperator transactionalOperator,
+                                     ApplicationEventPublisher eventPublisher,
+                                     CacheManager cacheManager,
+                                     TicketArchive ticketArchive) {
+        this.ticketRepository = ticketRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.ticketArchive = ticketArchive;
+    }
+
+    @Override
+    public Flux<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
+        if(ticketFilterDto.hasInvalidDateRange()) {
+            return Flux.error(new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE));
+        }
+
+        Flux<TicketDto> tickets = ticketRepository.findDtosWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent()
+        );
+        if(!TicketArchive.covers(ticketFilterDto)) {
+            return tickets;
+        }
+
+        Flux<TicketDto> archivedTickets = Mono.fromCallable(() -> ticketArchive.find(ticketFilterDto))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(Function.identity());
+        // Both sides are in created order, so a ticket caught between archiving and deletion
+        // comes out twice in a row; only the first copy is kept.
+        return Flux.mergeComparing(CREATED_ORDER, tickets, archivedTickets)
+                .distinctUntilChanged(TicketDto::id);
+    }
+
+    @Override
+    public Mono<TicketDto> getTicketById(Long ticketId) {
+        return ticketRepository.findDtoById(ticketId)
+                .switchIfEmpty(Mono.fromCallable(() -> ticketArchive.findById(ticketId).map(ArchivedTicket::toDto).orElse(null))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .switchIfEmpty(Mono.error(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)));
+    }
+
+    @Override
+    public Mono<TicketDto> assignAgentToTicket(Long ticketId, Long agentId) {
+        return writeWithRetry(ticketId, existing -> {
+            if(existing.ticket().status() != Status.NEW) {
+                return Mono.error(new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT));
+            }
+            return ticketRepository.findAgentNameById(agentId)
+                    .switchIfEmpty(Mono.error(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND)))
+                    .flatMap(agentName -> ticketRepository.assignAgentById(ticketId, agentId, Status.NEW, Status.IN_PROGRESS, existing.version())
+                            .flatMap(updatedRows -> requireUpdated(ticketId, updatedRows))
+                            .then(recordChange(existing, agentId,
+                                    changed(existing.ticket(), Status.IN_PROGRESS, existing.ticket().closedDate(), agentName))));
+        });
+    }
+
+    @Override
+    public Mono<TicketDto> resolveTicket(Long ticketId) {
+        return writeWithRetry(ticketId, existing -> {
+            if(existing.ticket().status() != Status.IN_PROGRESS) {
+                return Mono.error(new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED));
+            }
+            return ticketRepository.updateStatusById(ticketId, Status.IN_PROGRESS, Status.RESOLVED, existing.version())
+                    .flatMap(updatedRows -> requireUpdated(ticketId, updatedRows))
+                    .then(recordChange(existing, existing.agentId(),
+                            changed(existing.ticket(), Status.RESOLVED, existing.ticket().closedDate(), existing.ticket().assignedAgent())));
+        });
+    }
+
+    @Override
+    public Mono<TicketDto> closeTicket(Long ticketId) {
+        return writeWithRetry(ticketId, existing -> {
+            TicketDto ticket = existing.ticket();
+            if(ticket.resolutionSummary() == null || ticket.resolutionSummary().isEmpty()) {
+                return Mono.error(new MissingResolutionSummaryException(ErrorMessages.RESOLUTION_SUMMARY_REQUIRED));
+            }
+            if(ticket.status() != Status.RESOLVED) {
+                return Mono.error(new InvalidTicketStateException(ErrorMessages.ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED));
+            }
+            LocalDateTime closedDate = LocalDateTime.now();
+            return ticketRepository.closeById(ticketId, Status.RESOLVED, Status.CLOSED, closedDate, existing.version())
+                    .flatMap(updatedRows -> requireUpdated(ticketId, updatedRows))
+                    .then(recordChange(existing, existing.agentId(),
+                            changed(ticket, Status.CLOSED, closedDate, ticket.assignedAgent())));
+        });
+    }
+
+    /**
+     * Runs the read-check-write in its own transaction, starting over when a concurrent writer
+     * got in between, and gives up with a {@link TicketConflictException} after
+     * {@link TicketServiceImpl#MAX_WRITE_ATTEMPTS} attempts like the blocking service does.
+     */
+    private Mono<TicketDto> writeWithRetry(Long ticketId, Function<VersionedTicketView, Mono<TicketChangedEvent>> write) {
+        Mono<TicketChangedEvent> attempt = ticketRepository.findVersionedById(ticketId)
+                .switchIfEmpty(Mono.error(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)))
+                .flatMap(write);
+
+        return transactionalOperator.transactional(attempt)
+                .retryWhen(Retry.max(TicketServiceImpl.MAX_WRITE_ATTEMPTS - 1)
+                        .filter(ObjectOptimisticLockingFailureException.class::isInstance)
+                        .onRetryExhaustedThrow((spec, signal) -> new TicketConflictException(ErrorMessages.TICKET_CONFLICT)))
+                .flatMap(event -> Mono.fromRunnable(() -> afterCommit(event))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .thenReturn(event.ticket()));
+    }
+
+    private Mono<Void> requireUpdated(Long ticketId, long updatedRows) {
+        if(updatedRows == 0) {
+            return Mono.error(new ObjectOptimisticLockingFailureException(Ticket.class, ticketId));
+        }
+        return Mono.empty();
+    }
+
+    private Mono<TicketChangedEvent> recordChange(VersionedTicketView existing, Long agentId, TicketDto ticket) {
+        TicketChangedEvent event = new TicketChangedEvent(ticket.id(), existing.ticket().status(), ticket.status(),
+                existing.agentId(), agentId, LocalDateTime.now(), ticket, existing.version() + 1);
+        return ticketRepository.insertOutboxEvent(event.ticketId(), event.previousStatus(), event.status(), event.agentId(), event.occurredAt())
+                .thenReturn(event);
+    }
+
+    private void afterCommit(TicketChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheConfig.TICKETS_CACHE);
+        if(cache != null) {
+            cache.evict(event.ticketId());
+        }
+        eventPublisher.publishEvent(event);
+    }
+
+    private static TicketDto changed(TicketDto ticket, Status status, LocalDateTime closedDate, String assignedAgent) {
+        return new TicketDto(ticket.id(), ticket.description(), status, ticket.createdDate(), closedDate,
+                assignedAgent, ticket.resolutionSummary());
+    }
+}
@@ -0,0 +1,34 @@
+package com.learnings.ticketapi.service.impl;
+
+import com.learnings.ticketapi.config.CacheConfig;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a ticket's cached read once a change to it has committed, for single-ticket and bulk
+ * writes alike. Reads load through the cache with sync, so an eviction waits for a load of
+ * the same ticket that is in progress and then removes what it stored: a reader that read the
+ * row before the commit cannot leave its copy behind. Writers evict rather than put their
+ * result, since a put can itself land after a later writer's change.
+ */
+@Component
+public class TicketCacheInvalidator {
+
+    private final Cache ticketsCache;
+
+    public TicketCacheInvalidator(CacheManager cacheManager) {
+        this.ticketsCache = cacheManager.getCache(CacheConfig.TICKETS_CACHE);
+    }
+
+    /**
+     * Uses evictIfPresent, which the transaction-aware cache applies immediately; a deferred
+     * evict registered while the transaction is already completing would never run.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        ticketsCache.evictIfPresent(event.ticketId());
+    }
+}
@@ -0,0 +1,177 @@
+package com.learnings.ticketapi.service.impl;
+
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import com.learnings.ticketapi.repository.projection.TicketCountView;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory ticket counts keyed by status and agent, kept current from committed
+ * {@link TicketChangedEvent}s and {@link TicketsArchivedEvent}s so backlog reads never touch
+ * the database. The counts are rebuilt from a GROUP BY at startup and on every reconcile
+ * interval, which repairs drift from events that were never delivered, such as changes made
+ * outside the service. Changes heard while the GROUP BY runs are buffered and replayed onto
+ * its result before the swap, so a rebuild does not drop writes that commit during it. A
+ * change that committed just before the query but was heard just after it is counted twice
+ * until the next reconcile; that window is only the time from commit to listener.
+ */
+@Component
+public class TicketCounters {
+
+    private static final long UNASSIGNED = 0L;
+
+    private final TicketRepository ticketRepository;
+
+    // Listeners share the read lock; a rebuild takes the write lock only to start buffering
+    // and to swap, so no change can land in the old counters after the buffer is drained.
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+
+    private volatile Map<Status, ConcurrentHashMap<Long, LongAdder>> counters = emptyCounters();
+    private ConcurrentLinkedQueue<Consumer<Map<Status, ConcurrentHashMap<Long, LongAdder>>>> pendingChanges;
+
+    public TicketCounters(TicketRepository ticketRepository) {
+        this.ticketRepository = ticketRepository;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if(!event.isTransition() && Objects.equals(event.previousAgentId(), event.agentId())) {
+            return;
+        }
+        apply(target -> {
+            if(event.previousStatus() != null) {
+                adder(target, event.previousStatus(), event.previousAgentId()).decrement();
+            }
+            adder(target, event.status(), event.agentId()).increment();
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketsArchived(TicketsArchivedEvent event) {
+        apply(target -> {
+            for(TicketCountView row : event.counts()) {
+                adder(target, row.status(), row.agentId()).add(-row.count());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${ticket.counters.reconcile-interval:PT5M}",
+            fixedDelayString = "${ticket.counters.reconcile-interval:PT5M}")
+    public synchronized void reconcile() {
+        swapLock.writeLock().lock();
+        try {
+            pendingChanges = new ConcurrentLinkedQueue<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Map<Status, ConcurrentHashMap<Long, LongAdder>> rebuilt = null;
+        try {
+            rebuilt = countFromDatabase();
+        } finally {
+            swapLock.writeLock().lock();
+            try {
+                if(rebuilt != null) {
+                    for(Consumer<Map<Status, ConcurrentHashMap<Long, LongAdder>>> change : pendingChanges) {
+                        change.accept(rebuilt);
+                    }
+                    counters = rebuilt;
+                }
+                pendingChanges = null;
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    public long count(Status status) {
+        return counters.get(status).values().stream()
+                .mapToLong(LongAdder::sum)
+                .sum();
+    }
+
+    public long count(Status status, Long agentId) {
+        LongAdder adder = counters.get(status).get(agentKey(agentId));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public Map<Status, Long> countsByStatus() {
+        Map<Status, Long> byStatus = new EnumMap<>(Status.class);
+        for(Status status : Status.values()) {
+            byStatus.put(status, count(status));
+        }
+        return byStatus;
+    }
+
+    public Map<Long, Map<Status, Long>> countsByAgent() {
+        Map<Long, Map<Status, Long>> byAgent = new TreeMap<>();
+        counters.forEach((status, agentCounters) -> agentCounters.forEach((agentId, adder) -> {
+            if(agentId != UNASSIGNED) {
+                byAgent.computeIfAbsent(agentId, id -> new EnumMap<>(Status.class)).put(status, adder.sum());
+            }
+        }));
+        return byAgent;
+    }
+
+    private Map<Status, ConcurrentHashMap<Long, LongAdder>> countFromDatabase() {
+        Map<Status, ConcurrentHashMap<Long, LongAdder>> counted = emptyCounters();
+        for(TicketCountView row : ticketRepository.countByStatusAndAgent()) {
+            adder(counted, row.status(), row.agentId()).add(row.count());
+        }
+        return counted;
+    }
+
+    /**
+     * Applies the change to the live counters and, while a rebuild runs, keeps it to replay
+     * onto the rebuilt ones.
+     */
+    private void apply(Consumer<Map<Status, ConcurrentHashMap<Long, LongAdder>>> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(counters);
+            if(pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private static LongAdder adder(Map<Status, ConcurrentHashMap<Long, LongAdder>> counters, Status status, Long agentId) {
+        return counters.get(status).computeIfAbsent(agentKey(agentId), id -> new LongAdder());
+    }
+
+    private static long agentKey(Long agentId) {
+        return agentId == null ? UNASSIGNED : agentId;
+    }
+
+    private static Map<Status, ConcurrentHashMap<Long, LongAdder>> emptyCounters() {
+        Map<Status, ConcurrentHashMap<Long, LongAdder>> counters = new EnumMap<>(Status.class);
+        for(Status status : Status.values()) {
+            counters.put(status, new ConcurrentHashMap<>());
+        }
+        return counters;
+    }
+}
@@ -1,64 +1,266 @@
 package com.learnings.ticketapi.service.impl;
 
+import com.learnings.ticketapi.archive.TicketArchive;
+import com.learnings.ticketapi.config.CacheConfig;
+import com.learnings.ticketapi.duplicate.BatchDuplicate;
+import com.learnings.ticketapi.duplicate.DuplicateMode;
+import com.learnings.ticketapi.duplicate.DuplicateTicketDetector;
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto.Outcome;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketBacklogDto;
+import com.learnings.ticketapi.dto.TicketBatchResultDto;
+import com.learnings.ticketapi.dto.TicketCreationDto;
 import com.learnings.ticketapi.dto.TicketDto;
 import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketPageDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.dto.VersionedTicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
 import com.learnings.ticketapi.exception.*;
+import com.learnings.ticketapi.metrics.TicketMetrics;
 import com.learnings.ticketapi.model.Agent;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
 import com.learnings.ticketapi.repository.AgentRepository;
 import com.learnings.ticketapi.repository.TicketRepository;
+import com.learnings.ticketapi.repository.projection.TicketStateView;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import com.learnings.ticketapi.search.TicketSearchIndex;
 import com.learnings.ticketapi.service.TicketService;
 import com.learnings.ticketapi.util.ErrorMessages;
+import com.learnings.ticketapi.util.TicketCursor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TicketServiceImpl implements TicketService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int BULK_CHUNK_SIZE = 1000;
+    public static final int MAX_WRITE_ATTEMPTS = 3;
+
     private final TicketRepository ticketRepository;
     private final AgentRepository agentRepository;
-
-    public TicketServiceImpl(TicketRepository ticketRepository, AgentRepository agentRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketCounters ticketCounters;
+    private final TransactionOperations transactionOperations;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final DuplicateTicketDetector duplicateTicketDetector;
+    private final TicketArchive ticketArchive;
+    private final TicketMetrics ticketMetrics;
+
+    public TicketServiceImpl(TicketRepository ticketRepository,
+                             AgentRepository agentRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             TicketCounters ticketCounters,
+                             TransactionOperations transactionOperations,
+                             TicketSearchIndex ticketSearchIndex,
+                             DuplicateTicketDetector duplicateTicketDetector,
+                             TicketArchive ticketArchive,
+                             TicketMetrics ticketMetrics) {
         this.ticketRepository = ticketRepository;
         this.agentRepository = agentRepository;
+        this.eventPublisher = eventPublisher;
+        this.ticketCounters = ticketCounters;
+        this.transactionOperations = transactionOperations;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.duplicateTicketDetector = duplicateTicketDetector;
+        this.ticketArchive = ticketArchive;
+        this.ticketMetrics = ticketMetrics;
     }
 
     @Override
-    public TicketDto createTicket(TicketDto ticketDto) {
-        if(ticketDto.description() == null || ticketDto.description().isEmpty()){
+    @Transactional
+    public TicketCreationDto createTicket(TicketDto ticketDto) {
+        if(isMissingDescription(ticketDto)){
             throw new MissingDescriptionException(ErrorMessages.DESCRIPTION_REQUIRED);
         }
 
-        Ticket newTicket = new Ticket();
-        newTicket.setDescription(ticketDto.description());
-        newTicket.setStatus(Status.NEW);
-        newTicket.setCreatedDate(LocalDateTime.now());
+        OptionalLong duplicate = duplicateTicketDetector.findDuplicateOf(ticketDto.description());
+        Long duplicateOfId = duplicate.isPresent() ? duplicate.getAsLong() : null;
+        if(duplicateOfId != null && duplicateTicketDetector.mode() == DuplicateMode.MERGE) {
+            // The index trails commits, so only merge into a ticket that is still open.
+            Optional<Ticket> canonicalTicket = ticketRepository.findById(duplicateOfId)
+                    .filter(ticket -> ticket.getStatus() == Status.NEW || ticket.getStatus() == Status.IN_PROGRESS);
+            if(canonicalTicket.isPresent()) {
+                return new TicketCreationDto(convertToDto(canonicalTicket.get()), duplicateOfId, true);
+            }
+            duplicateOfId = null;
+        }
 
+        Ticket newTicket = newTicket(ticketDto, LocalDateTime.now());
+        newTicket.setDuplicateOfId(duplicateOfId);
         Ticket savedTicket = ticketRepository.save(newTicket);
+        publishChange(null, null, savedTicket, savedTicket.getVersion());
 
-        return convertToDto(savedTicket);
+        return new TicketCreationDto(convertToDto(savedTicket), duplicateOfId, false);
     }
 
+    /**
+     * Inserts the valid tickets in JDBC batches and reports the invalid ones by index.
+     * Duplicates are handled as in {@link #createTicket}, and also within the batch: the
+     * tickets that start a cluster are inserted first, so the later tickets of the cluster can
+     * link to them or, in MERGE mode, be answered with them instead of being created.
+     */
     @Override
-    public TicketDto assignAgentToTicket(Long ticketId, Long agentId) {
-        Ticket existingTicket = getTicket(ticketId);
+    @Transactional
+    public List<TicketBatchResultDto> createTickets(List<TicketDto> ticketDtos) {
+        LocalDateTime createdDate = LocalDateTime.now();
+        TicketBatchResultDto[] results = new TicketBatchResultDto[ticketDtos.size()];
+        List<Integer> validIndexes = new ArrayList<>(ticketDtos.size());
+        List<String> descriptions = new ArrayList<>(ticketDtos.size());
+
+        for(int index = 0; index < ticketDtos.size(); index++) {
+            TicketDto ticketDto = ticketDtos.get(index);
+            if(isMissingDescription(ticketDto)) {
+                results[index] = new TicketBatchResultDto(index, null, ErrorMessages.DESCRIPTION_REQUIRED);
+            } else {
+                validIndexes.add(index);
+                descriptions.add(ticketDto.description());
+            }
+        }
 
-        if(existingTicket.getStatus() != Status.NEW) {
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        List<BatchDuplicate> duplicates = duplicateTicketDetector.findDuplicatesOf(descriptions);
+        boolean merge = duplicateTicketDetector.mode() == DuplicateMode.MERGE;
+        Map<Long, TicketDto> openCanonicals = merge ? findOpenTickets(duplicates) : Map.of();
+
+        List<Ticket> firstTickets = new ArrayList<>(validIndexes.size());
+        List<Integer> firstPositions = new ArrayList<>(validIndexes.size());
+        List<Integer> laterPositions = new ArrayList<>();
+        for(int position = 0; position < validIndexes.size(); position++) {
+            int index = validIndexes.get(position);
+            BatchDuplicate duplicate = duplicates.get(position);
+            if(duplicate != null && duplicate.earlierPosition() != null) {
+                laterPositions.add(position);
+                continue;
+            }
+            Long duplicateOfId = duplicate != null ? duplicate.ticketId() : null;
+            if(merge && duplicateOfId != null) {
+                // The index trails commits, so only merge into a ticket that is still open.
+                TicketDto canonicalTicket = openCanonicals.get(duplicateOfId);
+                if(canonicalTicket != null) {
+                    results[index] = new TicketBatchResultDto(index, canonicalTicket, duplicateOfId, true, null);
+                    continue;
+                }
+                duplicateOfId = null;
+            }
+            Ticket newTicket = newTicket(ticketDtos.get(index), createdDate);
+            newTicket.setDuplicateOfId(duplicateOfId);
+            firstTickets.add(newTicket);
+            firstPositions.add(position);
         }
 
-        Agent assignedAgent = agentRepository.findById(agentId)
-                .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+        Ticket[] savedByPosition = new Ticket[validIndexes.size()];
+        List<Ticket> savedTickets = ticketRepository.insertAll(firstTickets);
+        for(int i = 0; i < savedTickets.size(); i++) {
+            savedByPosition[firstPositions.get(i)] = savedTickets.get(i);
+        }
+
+        List<Ticket> laterTickets = new ArrayList<>(laterPositions.size());
+        List<Integer> laterCreatedPositions = new ArrayList<>(laterPositions.size());
+        for(int position : laterPositions) {
+            int index = validIndexes.get(position);
+            Ticket canonicalTicket = savedByPosition[duplicates.get(position).earlierPosition()];
+            if(merge) {
+                results[index] = new TicketBatchResultDto(index, convertToDto(canonicalTicket), canonicalTicket.getId(), true, null);
+                continue;
+            }
+            Ticket newTicket = newTicket(ticketDtos.get(index), createdDate);
+            newTicket.setDuplicateOfId(canonicalTicket.getId());
+            laterTickets.add(newTicket);
+            laterCreatedPositions.add(position);
+        }
+        if(!laterTickets.isEmpty()) {
+            List<Ticket> savedLaterTickets = ticketRepository.insertAll(laterTickets);
+            for(int i = 0; i < savedLaterTickets.size(); i++) {
+                savedByPosition[laterCreatedPositions.get(i)] = savedLaterTickets.get(i);
+            }
+        }
+
+        for(int position = 0; position < validIndexes.size(); position++) {
+            Ticket savedTicket = savedByPosition[position];
+            if(savedTicket != null) {
+                int index = validIndexes.get(position);
+                results[index] = new TicketBatchResultDto(index, convertToDto(savedTicket), savedTicket.getDuplicateOfId(), false, null);
+                publishChange(null, null, savedTicket, savedTicket.getVersion());
+            }
+        }
+
+        return List.of(results);
+    }
 
-        existingTicket.setStatus(Status.IN_PROGRESS);
-        existingTicket.setAssignedAgent(assignedAgent);
+    private Map<Long, TicketDto> findOpenTickets(List<BatchDuplicate> duplicates) {
+        Set<Long> ticketIds = duplicates.stream()
+                .filter(duplicate -> duplicate != null && duplicate.ticketId() != null)
+                .map(BatchDuplicate::ticketId)
+                .collect(Collectors.toSet());
+        if(ticketIds.isEmpty()) {
+            return Map.of();
+        }
+        return ticketRepository.findDtosByIdIn(ticketIds).stream()
+                .filter(ticket -> ticket.status() == Status.NEW || ticket.status() == Status.IN_PROGRESS)
+                .collect(Collectors.toMap(TicketDto::id, Function.identity()));
+    }
 
-        Ticket savedTicket = ticketRepository.save(existingTicket);
+    private boolean isMissingDescription(TicketDto ticketDto) {
+        return ticketDto == null || ticketDto.description() == null || ticketDto.description().isEmpty();
+    }
 
-        return convertToDto(savedTicket);
+    private Ticket newTicket(TicketDto ticketDto, LocalDateTime createdDate) {
+        Ticket newTicket = new Ticket();
+        newTicket.setDescription(ticketDto.description());
+        newTicket.setStatus(Status.NEW);
+        newTicket.setCreatedDate(createdDate);
+        return newTicket;
+    }
+
+    @Override
+    public TicketDto assignAgentToTicket(Long ticketId, Long agentId) {
+        return retryOnConflict(() -> {
+            Ticket existingTicket = getTicket(ticketId);
+
+            if(existingTicket.getStatus() != Status.NEW) {
+                throw new InvalidTicketStateException(ErrorMessages.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+            }
+
+            Agent assignedAgent = agentRepository.findById(agentId)
+                    .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+
+            requireUpdated(ticketId, ticketRepository.assignAgentById(
+                    ticketId, assignedAgent, Status.NEW, Status.IN_PROGRESS, existingTicket.getVersion()));
+
+            Long previousAgentId = agentIdOf(existingTicket);
+            existingTicket.setStatus(Status.IN_PROGRESS);
+            existingTicket.setAssignedAgent(assignedAgent);
+            publishChange(Status.NEW, previousAgentId, existingTicket, existingTicket.getVersion() + 1);
+
+            return convertToDto(existingTicket);
+        });
     }
 
     private TicketDto convertToDto(Ticket ticket) {
@@ -75,70 +277,411 @@ public class TicketServiceImpl implements TicketService {
 
     @Override
     public TicketDto resolveTicket(Long ticketId) {
-        Ticket existingTicket = getTicket(ticketId);
+        return retryOnConflict(() -> {
+            Ticket existingTicket = getTicket(ticketId);
 
-        if(existingTicket.getStatus() != Status.IN_PROGRESS) {
-            throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED);
-        }
+            if(existingTicket.getStatus() != Status.IN_PROGRESS) {
+                throw new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED);
+            }
 
-        existingTicket.setStatus(Status.RESOLVED);
-        Ticket updatedTicket = ticketRepository.save(existingTicket);
+            requireUpdated(ticketId, ticketRepository.updateStatusById(
+                    ticketId, Status.IN_PROGRESS, Status.RESOLVED, existingTicket.getVersion()));
 
-        return convertToDto(updatedTicket);
+            existingTicket.setStatus(Status.RESOLVED);
+            publishChange(Status.IN_PROGRESS, agentIdOf(existingTicket), existingTicket, existingTicket.getVersion() + 1);
+
+            return convertToDto(existingTicket);
+        });
     }
 
     @Override
     public TicketDto updateTicket(Long ticketId, TicketDto ticketDto) {
-        Ticket existingTicket = getTicket(ticketId);
+        return retryOnConflict(() -> {
+            Ticket existingTicket = getTicket(ticketId);
+
+            if(existingTicket.getStatus() == Status.CLOSED){
+                throw new InvalidTicketStateException(ErrorMessages.CLOSED_TICKETS_CANNOT_BE_UPDATED);
+            }
+
+            if(Objects.equals(existingTicket.getDescription(), ticketDto.description())
+                    && Objects.equals(existingTicket.getResolutionSummary(), ticketDto.resolutionSummary())) {
+                return convertToDto(existingTicket);
+            }
+
+            Status previousStatus = existingTicket.getStatus();
+            Long previousAgentId = agentIdOf(existingTicket);
+            existingTicket.setDescription(ticketDto.description());
+            existingTicket.setResolutionSummary(ticketDto.resolutionSummary());
+
+            // The flush at commit is guarded by the version read above, so it fails if another
+            // writer committed in between. @DynamicUpdate limits the UPDATE to the changed columns.
+            Ticket updatedTicket = ticketRepository.save(existingTicket);
+            publishChange(previousStatus, previousAgentId, updatedTicket, existingTicket.getVersion() + 1);
+
+            return convertToDto(updatedTicket);
+        });
+    }
 
-        if(existingTicket.getStatus() == Status.CLOSED){
-            throw new InvalidTicketStateException(ErrorMessages.CLOSED_TICKETS_CANNOT_BE_UPDATED);
+    /**
+     * Loads through the cache with sync, so {@link TicketCacheInvalidator}'s eviction of a
+     * changed ticket waits for a load in progress and removes whatever it read. The version is
+     * read with the row, so a cached ticket answers conditional requests without a query.
+     */
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TICKETS_CACHE, key = "#ticketId", sync = true)
+    public VersionedTicketDto getVersionedTicketById(Long ticketId) {
+        return ticketRepository.findById(ticketId)
+                .map(ticket -> new VersionedTicketDto(convertToDto(ticket), ticket.getVersion()))
+                .or(() -> ticketArchive.findById(ticketId)
+                        .map(archivedTicket -> new VersionedTicketDto(archivedTicket.toDto(), archivedTicket.version())))
+                .orElseThrow(() -> new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND));
+    }
+
+    @Override
+    public String getTicketsVersionTag(TicketFilterDto ticketFilterDto) {
+        validateDateRange(ticketFilterDto);
+
+        String tag = ticketRepository.computeFingerprintWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent()
+        ).tag();
+
+        // Archived tickets never change, so the archive only moves on when it grows.
+        return TicketArchive.covers(ticketFilterDto) ? tag + "-" + Long.toHexString(ticketArchive.size()) : tag;
+    }
+
+    @Override
+    public List<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
+        validateDateRange(ticketFilterDto);
+
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent()
+        );
+        if(!TicketArchive.covers(ticketFilterDto)) {
+            ticketMetrics.recordResults(TicketMetrics.Query.LIST, tickets.size());
+            return tickets;
+        }
+
+        List<TicketDto> archivedTickets = ticketArchive.find(ticketFilterDto);
+        if(archivedTickets.isEmpty()) {
+            ticketMetrics.recordResults(TicketMetrics.Query.LIST, tickets.size());
+            return tickets;
         }
+        // A ticket caught between archiving and deletion is in both; the table copy wins.
+        Set<Long> liveIds = tickets.stream().map(TicketDto::id).collect(Collectors.toSet());
+        List<TicketDto> merged = new ArrayList<>(tickets);
+        archivedTickets.stream()
+                .filter(ticket -> !liveIds.contains(ticket.id()))
+                .forEach(merged::add);
+        merged.sort(Comparator.comparing(TicketDto::createdDate).thenComparing(TicketDto::id));
+        ticketMetrics.recordResults(TicketMetrics.Query.LIST, merged.size());
+        return merged;
+    }
+
+    @Override
+    public TicketPageDto getTicketPage(TicketFilterDto ticketFilterDto, String cursor, Integer pageSize) {
+        validateDateRange(ticketFilterDto);
+
+        int limit = pageLimit(pageSize);
+        TicketCursor after = cursor == null || cursor.isBlank() ? null : TicketCursor.decode(cursor);
+
+        // One extra row tells us whether another page exists without a count query.
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent(),
+                after != null ? after.createdDate() : null,
+                after != null ? after.id() : null,
+                limit + 1
+        );
 
-        existingTicket.setDescription(ticketDto.description());
-        existingTicket.setResolutionSummary(ticketDto.resolutionSummary());
+        List<TicketDto> page = tickets.size() > limit ? tickets.subList(0, limit) : tickets;
 
-        Ticket updatedTicket = ticketRepository.save(existingTicket);
+        String nextCursor = null;
+        if(tickets.size() > limit) {
+            TicketDto last = page.get(page.size() - 1);
+            nextCursor = new TicketCursor(last.createdDate(), last.id()).encode();
+        }
 
-        return convertToDto(updatedTicket);
+        ticketMetrics.recordResults(TicketMetrics.Query.PAGE, page.size());
+        return new TicketPageDto(page, nextCursor);
     }
 
+    /**
+     * Ranks and pages in the search index, then loads the page's tickets from the database in
+     * rank order. The index is updated after commit, so tickets whose stored state no longer
+     * matches the filter are dropped from the page.
+     */
     @Override
-    public TicketDto getTicketById(Long ticketId) {
-        Ticket existingTicket = getTicket(ticketId);
+    public TicketSearchPageDto searchTickets(String query, TicketFilterDto ticketFilterDto, Integer page, Integer pageSize) {
+        if(query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException(ErrorMessages.SEARCH_QUERY_REQUIRED);
+        }
+        validateDateRange(ticketFilterDto);
+
+        int limit = pageLimit(pageSize);
+        int pageIndex = page == null ? 0 : Math.max(0, page);
+
+        List<Long> ticketIds = ticketSearchIndex.search(query, ticketFilterDto, pageIndex * limit, limit + 1).ticketIds();
+        boolean hasNext = ticketIds.size() > limit;
+        List<Long> pageIds = hasNext ? ticketIds.subList(0, limit) : ticketIds;
 
-        return convertToDto(existingTicket);
+        Map<Long, TicketDto> ticketsById = pageIds.isEmpty() ? Map.of() : ticketRepository.findDtosByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(TicketDto::id, Function.identity()));
+        List<TicketDto> tickets = pageIds.stream()
+                .map(ticketsById::get)
+                .filter(Objects::nonNull)
+                .filter(ticketFilterDto::matches)
+                .toList();
+
+        ticketMetrics.recordResults(TicketMetrics.Query.SEARCH, tickets.size());
+        return new TicketSearchPageDto(tickets, pageIndex, limit, hasNext);
     }
 
+    private int pageLimit(Integer pageSize) {
+        return pageSize == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+    }
 
     @Override
-    public List<TicketDto> getTickets(TicketFilterDto ticketFilterDto) {
-        if(ticketFilterDto.startDate() != null
-            && ticketFilterDto.endDate() != null
-            && ticketFilterDto.endDate().isBefore(ticketFilterDto.startDate())){
-            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+    @Transactional(readOnly = true)
+    public void streamTickets(TicketFilterDto ticketFilterDto, Consumer<TicketDto> consumer) {
+        validateDateRange(ticketFilterDto);
+
+        try (Stream<TicketDto> tickets = ticketRepository.streamWithFilters(
+                ticketFilterDto.status(),
+                ticketFilterDto.startDate(),
+                ticketFilterDto.endDate(),
+                ticketFilterDto.assignedAgent())) {
+            tickets.forEach(consumer);
         }
+    }
+
+    @Override
+    public TicketStatsDto getTicketStats(TicketFilterDto ticketFilterDto, DateBucket bucket) {
+        validateDateRange(ticketFilterDto);
 
-        List<Ticket> filteredTickets = ticketRepository.findWithFilters(
+        return ticketRepository.computeStatsWithFilters(
                 ticketFilterDto.status(),
                 ticketFilterDto.startDate(),
                 ticketFilterDto.endDate(),
-                ticketFilterDto.assignedAgent()
+                ticketFilterDto.assignedAgent(),
+                bucket == null ? DateBucket.DAY : bucket
         );
+    }
 
-        return filteredTickets.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    private void validateDateRange(TicketFilterDto ticketFilterDto) {
+        if(ticketFilterDto.hasInvalidDateRange()){
+            throw new InvalidDateRangeException(ErrorMessages.INVALID_DATE_RANGE);
+        }
     }
 
     @Override
     public TicketDto closeTicket(Long ticketId){
-        Ticket existingTicket = getTicket(ticketId);
-        validateTicketBeforeClosing(existingTicket);
-        existingTicket.setStatus(Status.CLOSED);
-        existingTicket.setClosedDate(LocalDateTime.now());
-        Ticket updatedTicket = ticketRepository.save(existingTicket);
-        return convertToDto(updatedTicket);
+        return retryOnConflict(() -> {
+            Ticket existingTicket = getTicket(ticketId);
+            validateTicketBeforeClosing(existingTicket);
+            LocalDateTime closedDate = LocalDateTime.now();
+            requireUpdated(ticketId, ticketRepository.closeById(
+                    ticketId, Status.RESOLVED, Status.CLOSED, closedDate, existingTicket.getVersion()));
+            existingTicket.setStatus(Status.CLOSED);
+            existingTicket.setClosedDate(closedDate);
+            publishChange(Status.RESOLVED, agentIdOf(existingTicket), existingTicket, existingTicket.getVersion() + 1);
+            return convertToDto(existingTicket);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTransitionResultDto> assignAgentToTickets(BulkTicketRequestDto request, Long agentId) {
+        Agent assignedAgent = agentRepository.findById(agentId)
+                .orElseThrow(() -> new AgentNotFoundException(ErrorMessages.AGENT_NOT_FOUND));
+
+        return transitionTickets(request, Status.NEW, Status.IN_PROGRESS, false, agentId,
+                ids -> ticketRepository.assignAgentByIdIn(ids, assignedAgent, Status.NEW, Status.IN_PROGRESS));
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTransitionResultDto> resolveTickets(BulkTicketRequestDto request) {
+        return transitionTickets(request, Status.IN_PROGRESS, Status.RESOLVED, false, null,
+                ids -> ticketRepository.updateStatusByIdIn(ids, Status.IN_PROGRESS, Status.RESOLVED));
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTransitionResultDto> closeTickets(BulkTicketRequestDto request) {
+        LocalDateTime closedDate = LocalDateTime.now();
+        return transitionTickets(request, Status.RESOLVED, Status.CLOSED, true, null,
+                ids -> ticketRepository.closeByIdIn(ids, Status.RESOLVED, Status.CLOSED, closedDate));
+    }
+
+    /**
+     * Checks the preconditions of every selected ticket with one projection query per chunk and
+     * applies the transition to the eligible ones with one guarded UPDATE per chunk. If the
+     * UPDATE touches fewer rows than expected, a concurrent writer got there first and the
+     * tickets that are not in the state this transition produces are reported as conflicts. A
+     * concurrent writer that made exactly the same change from the same version leaves nothing
+     * to tell the two apart, and the ticket is reported as updated. A change event
+     * is published for every ticket that was transitioned, with its new state read back in one
+     * projection query per chunk.
+     *
+     * @param assignedAgentId the agent the transition assigns, or null if it keeps the current one
+     */
+    private List<BulkTransitionResultDto> transitionTickets(BulkTicketRequestDto request,
+                                                            Status requiredStatus,
+                                                            Status targetStatus,
+                                                            boolean requiresResolutionSummary,
+                                                            Long assignedAgentId,
+                                                            ToIntFunction<List<Long>> update) {
+        List<Long> ticketIds = resolveTicketIds(request);
+        Map<Long, Outcome> outcomes = new LinkedHashMap<>();
+
+        for(int from = 0; from < ticketIds.size(); from += BULK_CHUNK_SIZE) {
+            List<Long> chunk = ticketIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, ticketIds.size()));
+            Map<Long, TicketStateView> states = findStates(chunk);
+
+            List<Long> eligibleIds = new ArrayList<>();
+            for(Long ticketId : chunk) {
+                Outcome outcome = checkTransition(states.get(ticketId), requiredStatus, requiresResolutionSummary);
+                outcomes.put(ticketId, outcome);
+                if(outcome == Outcome.UPDATED) {
+                    eligibleIds.add(ticketId);
+                }
+            }
+
+            if(!eligibleIds.isEmpty() && update.applyAsInt(eligibleIds) != eligibleIds.size()) {
+                Map<Long, TicketStateView> updatedStates = findStates(eligibleIds);
+                for(Long ticketId : eligibleIds) {
+                    if(!isOwnTransition(states.get(ticketId), updatedStates.get(ticketId), targetStatus, assignedAgentId)) {
+                        outcomes.put(ticketId, Outcome.CONFLICT);
+                    }
+                }
+            }
+
+            List<Long> updatedIds = eligibleIds.stream()
+                    .filter(ticketId -> outcomes.get(ticketId) == Outcome.UPDATED)
+                    .toList();
+            if(!updatedIds.isEmpty()) {
+                LocalDateTime occurredAt = LocalDateTime.now();
+                // The rows stay locked by the UPDATE until commit, so the versions read here are
+                // the ones the changes commit with.
+                for(VersionedTicketView updated : ticketRepository.findVersionedByIdIn(updatedIds)) {
+                    TicketDto ticket = updated.ticket();
+                    Long previousAgentId = states.get(ticket.id()).agentId();
+                    eventPublisher.publishEvent(new TicketChangedEvent(ticket.id(), requiredStatus, targetStatus, previousAgentId,
+                            assignedAgentId != null ? assignedAgentId : previousAgentId, occurredAt, ticket, updated.version()));
+                }
+            }
+        }
+
+        return outcomes.entrySet().stream()
+                .map(entry -> new BulkTransitionResultDto(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> resolveTicketIds(BulkTicketRequestDto request) {
+        if(request.ids() != null && !request.ids().isEmpty()) {
+            return new ArrayList<>(new LinkedHashSet<>(request.ids()));
+        }
+        TicketFilterDto filter = request.filter();
+        if(filter == null) {
+            return List.of();
+        }
+        validateDateRange(filter);
+        return ticketRepository.findIdsWithFilters(
+                filter.status(),
+                filter.startDate(),
+                filter.endDate(),
+                filter.assignedAgent()
+        );
+    }
+
+    private Map<Long, TicketStateView> findStates(List<Long> ticketIds) {
+        return ticketRepository.findStatesByIdIn(ticketIds).stream()
+                .collect(Collectors.toMap(TicketStateView::id, Function.identity()));
+    }
+
+    /**
+     * Whether the ticket is in exactly the state this transition leaves behind: the target
+     * status, the agent it assigns or kept, and one version past the one that was checked.
+     * A ticket another writer moved to the target status, reassigned, changed again or
+     * deleted is not.
+     */
+    private static boolean isOwnTransition(TicketStateView before, TicketStateView after, Status targetStatus, Long assignedAgentId) {
+        return after != null
+                && after.status() == targetStatus
+                && Objects.equals(after.agentId(), assignedAgentId != null ? assignedAgentId : before.agentId())
+                && Objects.equals(after.version(), before.version() + 1);
+    }
+
+    private Outcome checkTransition(TicketStateView state, Status requiredStatus, boolean requiresResolutionSummary) {
+        if(state == null) {
+            return Outcome.NOT_FOUND;
+        }
+        if(requiresResolutionSummary && !Boolean.TRUE.equals(state.hasResolutionSummary())) {
+            return Outcome.MISSING_RESOLUTION_SUMMARY;
+        }
+        if(state.status() != requiredStatus) {
+            return Outcome.INVALID_STATE;
+        }
+        return Outcome.UPDATED;
+    }
+
+    @Override
+    public TicketBacklogDto getTicketBacklog() {
+        return new TicketBacklogDto(ticketCounters.countsByStatus(), ticketCounters.countsByAgent());
+    }
+
+    /**
+     * Runs a read-check-write against a single ticket, re-reading and re-validating it when a
+     * concurrent writer changed the row in between. Losing the race usually means the ticket
+     * has moved on, so the re-check throws the matching state exception; only a writer that
+     * keeps losing after {@link #MAX_WRITE_ATTEMPTS} gets a {@link TicketConflictException}.
+     * Each attempt is its own transaction, so the change event's listeners (such as the
+     * outbox) write with it and a version conflict raised at commit is retried as well.
+     */
+    private TicketDto retryOnConflict(Supplier<TicketDto> write) {
+        for(int attempt = 1; ; attempt++) {
+            try {
+                return transactionOperations.execute(status -> write.get());
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                if(attempt == MAX_WRITE_ATTEMPTS) {
+                    throw new TicketConflictException(ErrorMessages.TICKET_CONFLICT);
+                }
+            }
+        }
+    }
+
+    private void requireUpdated(Long ticketId, int updatedRows) {
+        if(updatedRows == 0) {
+            throw new ObjectOptimisticLockingFailureException(Ticket.class, ticketId);
+        }
+    }
+
+    /**
+     * @param version the version the change commits with
+     */
+    private void publishChange(Status previousStatus, Long previousAgentId, Ticket ticket, Long version) {
+        eventPublisher.publishEvent(new TicketChangedEvent(
+                ticket.getId(),
+                previousStatus,
+                ticket.getStatus(),
+                previousAgentId,
+                agentIdOf(ticket),
+                LocalDateTime.now(),
+                convertToDto(ticket),
+                version
+        ));
+    }
+
+    private Long agentIdOf(Ticket ticket) {
+        return ticket.getAssignedAgent() != null ? ticket.getAssignedAgent().getId() : null;
     }
 
     private void validateTicketBeforeClosing(Ticket existingTicket) {
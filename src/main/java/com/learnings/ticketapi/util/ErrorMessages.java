@@ -9,6 +9,10 @@ public class ErrorMessages {
     public static final String ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED = "Only resolved tickets can be closed";
     public static final String INVALID_DATE_RANGE = "Invalid date range";
     public static final String DESCRIPTION_REQUIRED = "Description is required to create a ticket.";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor.";
+    public static final String SEARCH_QUERY_REQUIRED = "A search query is required.";
+    public static final String TICKET_CONFLICT = "The ticket was modified concurrently, please retry.";
+    public static final String SERVICE_BUSY = "The service is busy, please retry shortly.";
 
     private ErrorMessages() {}
     public static final String ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT = "Only NEW tickets can be assigned to an agent.";
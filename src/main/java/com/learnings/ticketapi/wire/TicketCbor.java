@@ -0,0 +1,276 @@
+package com.learnings.ticketapi.wire;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary encoding of a ticket list, written as plain CBOR (RFC 8949) so any CBOR
+ * library can read it:
+ * <pre>
+ * list     indefinite-length array of tickets, closed by a break
+ * ticket   [id, description, status, createdDate, closedDate, agent, resolutionSummary]
+ * </pre>
+ * Status is its {@link Status} ordinal, so the enum order is part of the format. Dates are
+ * epoch milliseconds in UTC, which truncates the table's microseconds. The first time an
+ * agent name appears it is written as text and takes the next index of the response's
+ * dictionary; later tickets refer to it by that index as an unsigned integer. Nulls are CBOR
+ * null. Nothing depends on what follows, so lists of any size are written and read as they
+ * stream.
+ */
+public final class TicketCbor {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-ticket-list+cbor";
+
+    private static final int TICKET_FIELDS = 7;
+
+    private static final int UNSIGNED = 0;
+    private static final int NEGATIVE = 1;
+    private static final int TEXT = 3;
+    private static final int ARRAY = 4;
+
+    private static final int INDEFINITE_ARRAY = 0x9F;
+    private static final int NULL = 0xF6;
+    private static final int BREAK = 0xFF;
+
+    private static final Status[] STATUSES = Status.values();
+
+    private TicketCbor() {
+    }
+
+    /**
+     * Starts a list on the stream. {@link Writer#finish()} ends the list and flushes it but
+     * leaves the stream open. A writer that is abandoned without finishing leaves the list
+     * unterminated, so a reader fails instead of taking a partial list for a complete one.
+     */
+    public static Writer writer(OutputStream outputStream) throws IOException {
+        return new Writer(outputStream);
+    }
+
+    public static List<TicketDto> read(InputStream inputStream) throws IOException {
+        List<TicketDto> tickets = new ArrayList<>();
+        read(inputStream, tickets::add);
+        return tickets;
+    }
+
+    /**
+     * Decodes a list, passing each ticket on as soon as it has been read.
+     */
+    public static void read(InputStream inputStream, Consumer<TicketDto> consumer) throws IOException {
+        Reader reader = new Reader(inputStream);
+        int initial = reader.in.readUnsignedByte();
+        if(initial == INDEFINITE_ARRAY) {
+            while((initial = reader.in.readUnsignedByte()) != BREAK) {
+                consumer.accept(reader.readTicket(initial));
+            }
+        }
+        else {
+            long count = reader.readArgument(initial, ARRAY);
+            for(long i = 0; i < count; i++) {
+                consumer.accept(reader.readTicket(reader.in.readUnsignedByte()));
+            }
+        }
+    }
+
+    public static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> agentIndexes = new HashMap<>();
+
+        private Writer(OutputStream outputStream) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(outputStream));
+            out.writeByte(INDEFINITE_ARRAY);
+        }
+
+        public void write(TicketDto ticket) throws IOException {
+            writeHeader(ARRAY, TICKET_FIELDS);
+            writeLong(ticket.id());
+            writeText(ticket.description());
+            writeLong(ticket.status() == null ? null : (long) ticket.status().ordinal());
+            writeLong(epochMillis(ticket.createdDate()));
+            writeLong(epochMillis(ticket.closedDate()));
+            writeAgent(ticket.assignedAgent());
+            writeText(ticket.resolutionSummary());
+        }
+
+        /**
+         * Pushes what has been written so far to the stream, for callers that stream slowly.
+         */
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * Ends the list. Only call it once every ticket has been written; after a failure the
+         * writer is dropped, so the list stays unterminated.
+         */
+        public void finish() throws IOException {
+            out.writeByte(BREAK);
+            out.flush();
+        }
+
+        private void writeAgent(String agentName) throws IOException {
+            if(agentName == null) {
+                out.writeByte(NULL);
+                return;
+            }
+            Integer index = agentIndexes.get(agentName);
+            if(index != null) {
+                writeHeader(UNSIGNED, index);
+                return;
+            }
+            agentIndexes.put(agentName, agentIndexes.size());
+            writeText(agentName);
+        }
+
+        private void writeLong(Long value) throws IOException {
+            if(value == null) {
+                out.writeByte(NULL);
+            }
+            else if(value >= 0) {
+                writeHeader(UNSIGNED, value);
+            }
+            else {
+                writeHeader(NEGATIVE, -1 - value);
+            }
+        }
+
+        private void writeText(String value) throws IOException {
+            if(value == null) {
+                out.writeByte(NULL);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeHeader(TEXT, bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeHeader(int majorType, long argument) throws IOException {
+            int type = majorType << 5;
+            if(argument < 24) {
+                out.writeByte(type | (int) argument);
+            }
+            else if(argument < 1L << 8) {
+                out.writeByte(type | 24);
+                out.writeByte((int) argument);
+            }
+            else if(argument < 1L << 16) {
+                out.writeByte(type | 25);
+                out.writeShort((int) argument);
+            }
+            else if(argument < 1L << 32) {
+                out.writeByte(type | 26);
+                out.writeInt((int) argument);
+            }
+            else {
+                out.writeByte(type | 27);
+                out.writeLong(argument);
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+        private final List<String> agentNames = new ArrayList<>();
+
+        private Reader(InputStream inputStream) {
+            this.in = new DataInputStream(new BufferedInputStream(inputStream));
+        }
+
+        private TicketDto readTicket(int initial) throws IOException {
+            long fields = readArgument(initial, ARRAY);
+            if(fields != TICKET_FIELDS) {
+                throw new IOException("Expected " + TICKET_FIELDS + " ticket fields but found " + fields);
+            }
+            Long id = readLong();
+            String description = readText();
+            Long status = readLong();
+            Long createdDate = readLong();
+            Long closedDate = readLong();
+            String agent = readAgent();
+            String resolutionSummary = readText();
+            return new TicketDto(id, description, status == null ? null : STATUSES[status.intValue()],
+                    dateTime(createdDate), dateTime(closedDate), agent, resolutionSummary);
+        }
+
+        private String readAgent() throws IOException {
+            int initial = in.readUnsignedByte();
+            if(initial == NULL) {
+                return null;
+            }
+            if(initial >>> 5 == UNSIGNED) {
+                return agentNames.get((int) readArgument(initial, UNSIGNED));
+            }
+            String agentName = readText(initial);
+            agentNames.add(agentName);
+            return agentName;
+        }
+
+        private Long readLong() throws IOException {
+            int initial = in.readUnsignedByte();
+            if(initial == NULL) {
+                return null;
+            }
+            if(initial >>> 5 == NEGATIVE) {
+                return -1 - readArgument(initial, NEGATIVE);
+            }
+            return readArgument(initial, UNSIGNED);
+        }
+
+        private String readText() throws IOException {
+            int initial = in.readUnsignedByte();
+            return initial == NULL ? null : readText(initial);
+        }
+
+        private String readText(int initial) throws IOException {
+            byte[] bytes = new byte[Math.toIntExact(readArgument(initial, TEXT))];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long readArgument(int initial, int expectedMajorType) throws IOException {
+            int majorType = initial >>> 5;
+            if(majorType != expectedMajorType) {
+                throw new IOException("Unexpected CBOR item 0x" + Integer.toHexString(initial));
+            }
+            int info = initial & 0x1F;
+            return switch(info) {
+                case 24 -> in.readUnsignedByte();
+                case 25 -> in.readUnsignedShort();
+                case 26 -> Integer.toUnsignedLong(in.readInt());
+                case 27 -> in.readLong();
+                default -> {
+                    if(info > 27) {
+                        throw new IOException("Unsupported CBOR length in 0x" + Integer.toHexString(initial));
+                    }
+                    yield info;
+                }
+            };
+        }
+    }
+
+    private static Long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime dateTime(Long epochMillis) {
+        return epochMillis == null ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC);
+    }
+}
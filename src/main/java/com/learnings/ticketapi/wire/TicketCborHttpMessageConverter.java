@@ -0,0 +1,64 @@
+package com.learnings.ticketapi.wire;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@code List<TicketDto>} bodies as {@value TicketCbor#MEDIA_TYPE_VALUE}.
+ */
+public class TicketCborHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<TicketDto>> {
+
+    public static final MediaType TICKET_CBOR = MediaType.parseMediaType(TicketCbor.MEDIA_TYPE_VALUE);
+
+    private static final ResolvableType TICKET_LIST = ResolvableType.forClassWithGenerics(List.class, TicketDto.class);
+
+    public TicketCborHttpMessageConverter() {
+        super(TICKET_CBOR);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isTicketList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isTicketList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<TicketDto> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return TicketCbor.read(inputMessage.getBody());
+    }
+
+    @Override
+    protected List<TicketDto> readInternal(Class<? extends List<TicketDto>> clazz, HttpInputMessage inputMessage) throws IOException {
+        return TicketCbor.read(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(List<TicketDto> tickets, Type type, HttpOutputMessage outputMessage) throws IOException {
+        TicketCbor.Writer writer = TicketCbor.writer(outputMessage.getBody());
+        for(TicketDto ticket : tickets) {
+            writer.write(ticket);
+        }
+        writer.finish();
+    }
+
+    private static boolean isTicketList(Type type) {
+        return type != null && TICKET_LIST.isAssignableFrom(ResolvableType.forType(type));
+    }
+}
@@ -0,0 +1,185 @@
+package com.learnings.ticketapi.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzipped ticket list responses, kept so hot lists are written as stored instead of being
+ * queried, serialized and compressed again for every request. Entries are keyed by the
+ * normalized filter and representation, and dropped after commit by any ticket change the
+ * list could show, as decided by {@link TicketChangedEvent#concerns}. The expiry bounds
+ * anything events do not cover. The cache is bounded by the total size of the stored bodies,
+ * since one unfiltered list can outweigh hundreds of narrow ones; a body above
+ * {@code ticket.list-cache.max-entry-size} is served but never stored.
+ */
+@Component
+public class TicketListPayloadCache {
+
+    private final Cache<Key, Payload> payloads;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong generation = new AtomicLong();
+    private final long maxEntrySize;
+
+    public TicketListPayloadCache(ObjectMapper objectMapper,
+                                  @Value("${ticket.list-cache.maximum-weight:32MB}") DataSize maximumWeight,
+                                  @Value("${ticket.list-cache.max-entry-size:1MB}") DataSize maxEntrySize,
+                                  @Value("${ticket.list-cache.expire-after-write:PT60S}") Duration expireAfterWrite) {
+        this.objectMapper = objectMapper;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.payloads = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((Key key, Payload payload) -> payload.gzippedBody().length)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public Payload get(TicketFilterDto filter, Format format) {
+        return payloads.getIfPresent(Key.of(filter, format));
+    }
+
+    /**
+     * To be read before the list is queried and passed back to {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Encodes and compresses the list, caching it unless a ticket changed since
+     * {@code observedGeneration}, in which case the list may predate that change, or the body
+     * is larger than the entry size cap. Either way the payload is returned to the caller.
+     */
+    public Payload put(TicketFilterDto filter, Format format, List<TicketDto> tickets, String eTag,
+                       long observedGeneration) throws IOException {
+        Key key = Key.of(filter, format);
+        Payload payload = new Payload(format, eTag, encode(tickets, format));
+        if(generation.get() != observedGeneration || payload.gzippedBody().length > maxEntrySize) {
+            return payload;
+        }
+        payloads.put(key, payload);
+        // A change committed between the check and the put has already run its eviction.
+        if(generation.get() != observedGeneration) {
+            payloads.asMap().remove(key, payload);
+        }
+        return payload;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        generation.incrementAndGet();
+        payloads.asMap().keySet().removeIf(key -> key.isAffectedBy(event));
+    }
+
+    private byte[] encode(List<TicketDto> tickets, Format format) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            if(format == Format.TICKET_CBOR) {
+                TicketCbor.Writer writer = TicketCbor.writer(gzip);
+                for(TicketDto ticket : tickets) {
+                    writer.write(ticket);
+                }
+                writer.finish();
+            }
+            else {
+                gzip.write(objectMapper.writeValueAsBytes(tickets));
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    public enum Format {
+
+        JSON(MediaType.APPLICATION_JSON_VALUE),
+        TICKET_CBOR(TicketCbor.MEDIA_TYPE_VALUE);
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /**
+         * The representation content negotiation would pick for the Accept header, or null
+         * when it is not clearly one of these. CBOR has to be listed explicitly and outrank
+         * every type that accepts JSON, wildcards included.
+         */
+        public static Format forAccept(String accept) {
+            if(accept == null || accept.isBlank()) {
+                return JSON;
+            }
+            List<MediaType> mediaTypes;
+            try {
+                mediaTypes = MediaType.parseMediaTypes(accept);
+            } catch (InvalidMediaTypeException e) {
+                return null;
+            }
+            double cborQuality = 0;
+            double jsonQuality = 0;
+            for(MediaType mediaType : mediaTypes) {
+                if(mediaType.equalsTypeAndSubtype(TicketCborHttpMessageConverter.TICKET_CBOR)) {
+                    cborQuality = Math.max(cborQuality, mediaType.getQualityValue());
+                }
+                else if(mediaType.includes(MediaType.APPLICATION_JSON)) {
+                    jsonQuality = Math.max(jsonQuality, mediaType.getQualityValue());
+                }
+            }
+            if(cborQuality > jsonQuality) {
+                return TICKET_CBOR;
+            }
+            return cborQuality == 0 && jsonQuality > 0 ? JSON : null;
+        }
+    }
+
+    /**
+     * A stored response. The body is gzipped and is shared by every request served from the
+     * entry, so it must not be modified.
+     */
+    public record Payload(Format format, String eTag, byte[] gzippedBody) {
+    }
+
+    private record Key(TicketFilterDto filter, Format format) {
+
+        private static final List<Status> ALL_STATUSES = List.of(Status.values());
+
+        /**
+         * Statuses are sorted and de-duplicated, no statuses lists every status, and a blank
+         * agent is no agent filter, as in the repository predicates.
+         */
+        static Key of(TicketFilterDto filter, Format format) {
+            List<Status> statuses = filter.status() == null || filter.status().isEmpty()
+                    ? ALL_STATUSES
+                    : List.copyOf(EnumSet.copyOf(filter.status()));
+            String assignedAgent = filter.assignedAgent() == null || filter.assignedAgent().trim().isEmpty()
+                    ? null
+                    : filter.assignedAgent();
+            return new Key(new TicketFilterDto(statuses, filter.startDate(), filter.endDate(), assignedAgent), format);
+        }
+
+        boolean isAffectedBy(TicketChangedEvent event) {
+            return event.concerns(filter);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+CREATE SEQUENCE ticket_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE agent (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE ticket (
+    id BIGINT NOT NULL PRIMARY KEY,
+    description VARCHAR(255),
+    status VARCHAR(32),
+    created_date TIMESTAMP(6),
+    closed_date TIMESTAMP(6),
+    resolution_summary VARCHAR(255),
+    assigned_agent_id BIGINT,
+    CONSTRAINT fk_ticket_assigned_agent FOREIGN KEY (assigned_agent_id) REFERENCES agent (id)
+);
@@ -0,0 +1,13 @@
+-- Access paths for TicketFilterRepositoryImpl.buildPredicates.
+
+-- status IN (...) with or without a createdDate range
+CREATE INDEX idx_ticket_status_created_date ON ticket (status, created_date);
+
+-- createdDate range alone, and the (createdDate, id) keyset order used by paging and export
+CREATE INDEX idx_ticket_created_date_id ON ticket (created_date, id);
+
+-- assignedAgentId equality, optionally narrowed by status
+CREATE INDEX idx_ticket_assigned_agent_status ON ticket (assigned_agent_id, status);
+
+-- agent name -> id lookups
+CREATE UNIQUE INDEX uq_agent_name ON agent (name);
@@ -0,0 +1,2 @@
+-- Optimistic locking for Ticket; existing rows start at version 0.
+ALTER TABLE ticket ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,11 @@
+-- Transactional outbox drained by OutboxRelay; rows are deleted once delivered.
+CREATE SEQUENCE ticket_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE ticket_outbox (
+    id BIGINT NOT NULL PRIMARY KEY,
+    ticket_id BIGINT NOT NULL,
+    previous_status VARCHAR(32),
+    status VARCHAR(32) NOT NULL,
+    agent_id BIGINT,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
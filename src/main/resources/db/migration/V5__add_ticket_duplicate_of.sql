@@ -0,0 +1,4 @@
+-- Tickets created as near-duplicates of an open ticket point at that canonical ticket.
+ALTER TABLE ticket ADD COLUMN duplicate_of_id BIGINT;
+ALTER TABLE ticket ADD CONSTRAINT fk_ticket_duplicate_of FOREIGN KEY (duplicate_of_id) REFERENCES ticket (id);
+CREATE INDEX idx_ticket_duplicate_of ON ticket (duplicate_of_id);
@@ -0,0 +1,7 @@
+-- Closed tickets are moved out of the table by TicketArchiver.
+
+-- status = 'CLOSED' AND closed_date < cutoff, the archiver's batch query
+CREATE INDEX idx_ticket_status_closed_date ON ticket (status, closed_date);
+
+-- A canonical ticket may be archived while its duplicates are still in the table.
+ALTER TABLE ticket DROP CONSTRAINT fk_ticket_duplicate_of;
@@ -0,0 +1,94 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MappedTicketArchiveTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2023, 1, 1, 9, 0, 0, 123456000);
+
+    @TempDir
+    Path directory;
+
+    private MappedTicketArchive ticketArchive;
+
+    @BeforeEach
+    void setup() throws Exception {
+        ticketArchive = new MappedTicketArchive(directory.toString());
+        ticketArchive.append(List.of(
+                archived(3L, "Printer offline", CREATED_DATE.plusDays(2), "Agent002", null),
+                archived(1L, "VPN timeout, caf\u00e9 Wi-Fi", CREATED_DATE, "Agent001", "Reinstalled client"),
+                archived(2L, null, CREATED_DATE.plusDays(1), null, "Duplicate")
+        ));
+        ticketArchive.append(List.of(archived(10L, "Password reset", CREATED_DATE.minusDays(1), "Agent001", "Reset")));
+    }
+
+    @Test
+    void givenArchivedTicket_whenFindingById_thenEveryFieldIsReadFromTheMapping() {
+        assertEquals(Optional.of(archived(1L, "VPN timeout, caf\u00e9 Wi-Fi", CREATED_DATE, "Agent001", "Reinstalled client")), ticketArchive.findById(1L));
+        assertEquals(Optional.of(archived(2L, null, CREATED_DATE.plusDays(1), null, "Duplicate")), ticketArchive.findById(2L));
+        assertTrue(ticketArchive.findById(4L).isEmpty());
+        assertTrue(ticketArchive.findById(11L).isEmpty());
+    }
+
+    @Test
+    void givenFilter_whenScanning_thenStatusDateRangeAndAgentAreHonoured() {
+        TicketFilterDto filter = new TicketFilterDto(List.of(Status.RESOLVED, Status.CLOSED), null, CREATED_DATE.plusDays(1), "Agent001");
+
+        List<TicketDto> tickets = ticketArchive.find(filter);
+
+        assertEquals(List.of(10L, 1L), tickets.stream().map(TicketDto::id).toList());
+        assertEquals(Status.CLOSED, tickets.get(1).status());
+        assertEquals("Reinstalled client", tickets.get(1).resolutionSummary());
+    }
+
+    @Test
+    void givenFilterThatNoArchivedTicketCanMatch_whenScanning_thenNothingIsReturned() {
+        assertTrue(ticketArchive.find(new TicketFilterDto(List.of(Status.NEW), null, null, null)).isEmpty());
+        assertTrue(ticketArchive.find(new TicketFilterDto(null, null, null, "Agent404")).isEmpty());
+        assertTrue(ticketArchive.find(new TicketFilterDto(null, CREATED_DATE.plusDays(3), null, null)).isEmpty());
+    }
+
+    @Test
+    void givenTicketAppendedAgainAfterACrash_whenFindingTickets_thenItIsReturnedOnce() {
+        ticketArchive.append(List.of(archived(1L, "VPN timeout, caf\u00e9 Wi-Fi", CREATED_DATE, "Agent001", "Reinstalled client")));
+
+        List<TicketDto> tickets = ticketArchive.find(new TicketFilterDto(null, null, null, "Agent001"));
+
+        assertEquals(List.of(10L, 1L), tickets.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    void givenExistingSegments_whenArchiveIsReopened_thenTheyAreMappedAgain() throws Exception {
+        MappedTicketArchive reopened = new MappedTicketArchive(directory.toString());
+
+        assertEquals(4, reopened.size());
+        assertEquals(4, reopened.find(new TicketFilterDto(null, null, null, " ")).size());
+    }
+
+    @Test
+    void givenDirectoryWithSegmentsOfTheOtherFormat_whenOpening_thenStartupFails() throws Exception {
+        Path shared = directory.resolve("shared");
+        new ColumnarTicketArchive(shared.toString())
+                .append(List.of(archived(20L, "Keyboard missing keys", CREATED_DATE, null, "Replaced")));
+
+        assertThrows(IllegalStateException.class, () -> new MappedTicketArchive(shared.toString()));
+    }
+
+    private static ArchivedTicket archived(Long id, String description, LocalDateTime createdDate, String agent, String resolutionSummary) {
+        return new ArchivedTicket(id, description, createdDate, createdDate.plusHours(5), agent, resolutionSummary, id * 2);
+    }
+}
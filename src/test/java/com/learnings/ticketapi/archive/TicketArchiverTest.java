@@ -0,0 +1,95 @@
+package com.learnings.ticketapi.archive;
+
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import com.learnings.ticketapi.repository.projection.TicketCountView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketArchiverTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private TicketArchiver ticketArchiver;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private TicketArchive ticketArchive;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setup() {
+        ticketArchiver = new TicketArchiver(ticketRepository, ticketArchive, TransactionOperations.withoutTransaction(), eventPublisher,
+                Duration.ofDays(30), BATCH_SIZE, 10);
+    }
+
+    @Test
+    void givenOldClosedTickets_whenArchiving_thenEachBatchIsAppendedBeforeItIsDeleted() {
+        when(ticketRepository.findArchivable(eq(Status.CLOSED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(archived(1L), archived(2L)))
+                .thenReturn(List.of(archived(3L)));
+
+        ticketArchiver.archive();
+
+        InOrder inOrder = inOrder(ticketArchive, ticketRepository);
+        inOrder.verify(ticketArchive).append(List.of(archived(1L), archived(2L)));
+        inOrder.verify(ticketRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        inOrder.verify(ticketArchive).append(List.of(archived(3L)));
+        inOrder.verify(ticketRepository).deleteAllByIdInBatch(List.of(3L));
+    }
+
+    @Test
+    void givenAppendFails_whenArchiving_thenTicketsAreNotDeleted() {
+        when(ticketRepository.findArchivable(eq(Status.CLOSED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(archived(1L)));
+        doThrow(new IllegalStateException("disk full")).when(ticketArchive).append(anyList());
+
+        assertThrows(IllegalStateException.class, () -> ticketArchiver.archive());
+
+        verify(ticketRepository, never()).deleteAllByIdInBatch(anyList());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenBatch_whenArchiving_thenArchivedEventCarriesItsIdsAndCountsBeforeTheDelete() {
+        List<TicketCountView> counts = List.of(new TicketCountView(Status.CLOSED, 7L, 1L), new TicketCountView(Status.CLOSED, null, 1L));
+        when(ticketRepository.findArchivable(eq(Status.CLOSED), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(archived(1L), archived(2L)))
+                .thenReturn(List.of());
+        when(ticketRepository.countByStatusAndAgentByIdIn(List.of(1L, 2L))).thenReturn(counts);
+
+        ticketArchiver.archive();
+
+        InOrder inOrder = inOrder(eventPublisher, ticketRepository);
+        inOrder.verify(eventPublisher).publishEvent(new TicketsArchivedEvent(List.of(1L, 2L), counts));
+        inOrder.verify(ticketRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    private static ArchivedTicket archived(Long id) {
+        LocalDateTime createdDate = LocalDateTime.of(2023, 1, 1, 9, 0);
+        return new ArchivedTicket(id, "Ticket " + id, createdDate, createdDate.plusDays(1), null, "Fixed", 1L);
+    }
+}
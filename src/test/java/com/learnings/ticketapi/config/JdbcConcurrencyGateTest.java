@@ -0,0 +1,117 @@
+package com.learnings.ticketapi.config;
+
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.exception.ServiceBusyException;
+import com.learnings.ticketapi.service.TicketService;
+import com.learnings.ticketapi.service.impl.TicketServiceImpl;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class JdbcConcurrencyGateTest {
+
+    private final JdbcConcurrencyGate gate = new JdbcConcurrencyGate(1, Duration.ofMillis(50));
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void releaseHolder() {
+        release.countDown();
+    }
+
+    @Test
+    void givenThreadHoldsAPermit_whenItCallsThroughTheGateAgain_thenItDoesNotWaitForASecond() throws Throwable {
+        ProceedingJoinPoint inner = joinPointReturning("inner");
+        ProceedingJoinPoint outer = mock(ProceedingJoinPoint.class);
+        when(outer.proceed()).thenAnswer(invocation -> gate.gate(inner));
+
+        assertEquals("inner", gate.gate(outer));
+    }
+
+    @Test
+    void givenEveryPermitIsHeld_whenAnotherThreadCalls_thenItIsTurnedAwayAfterTheTimeout() throws Throwable {
+        holdThePermit();
+
+        assertThrows(ServiceBusyException.class, () -> gate.gate(joinPointReturning("late")));
+    }
+
+    @Test
+    void givenCallThrows_whenGated_thenThePermitIsReleased() throws Throwable {
+        ProceedingJoinPoint failing = mock(ProceedingJoinPoint.class);
+        when(failing.proceed()).thenThrow(new IllegalStateException("deadlock detected"));
+
+        assertThrows(IllegalStateException.class, () -> gate.gate(failing));
+
+        // Another thread can only get in if the single permit came back.
+        Object result = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gate.gate(joinPointReturning("next"));
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals("next", result);
+    }
+
+    @Test
+    void givenEveryPermitIsHeld_whenCallingServiceMethods_thenOnlyTransactionalOnesAreGated() throws Throwable {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(mock(TicketServiceImpl.class));
+        proxyFactory.addAspect(gate);
+        TicketService ticketService = proxyFactory.getProxy();
+        holdThePermit();
+
+        assertDoesNotThrow(ticketService::getTicketBacklog);
+        assertDoesNotThrow(() -> ticketService.streamTickets(new TicketFilterDto(null, null, null, null), ticket -> {}));
+        assertThrows(ServiceBusyException.class,
+                () -> ticketService.assignAgentToTickets(new BulkTicketRequestDto(List.of(1L), null), 1L));
+    }
+
+    @Test
+    void givenEveryPermitIsHeld_whenRunningAProgrammaticTransaction_thenItIsGated() throws Throwable {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(TransactionOperations.withoutTransaction());
+        proxyFactory.addAspect(gate);
+        TransactionOperations transactionOperations = proxyFactory.getProxy();
+        holdThePermit();
+
+        assertThrows(ServiceBusyException.class, () -> transactionOperations.execute(status -> "written"));
+    }
+
+    private void holdThePermit() throws Throwable {
+        CountDownLatch holding = new CountDownLatch(1);
+        ProceedingJoinPoint blocked = mock(ProceedingJoinPoint.class);
+        when(blocked.proceed()).thenAnswer(invocation -> {
+            holding.countDown();
+            release.await();
+            return null;
+        });
+        Thread.ofVirtual().start(() -> {
+            try {
+                gate.gate(blocked);
+            } catch (Throwable ignored) {
+                // Only holds the permit.
+            }
+        });
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+    }
+
+    private static ProceedingJoinPoint joinPointReturning(Object value) throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.proceed()).thenReturn(value);
+        return joinPoint;
+    }
+}
@@ -0,0 +1,119 @@
+package com.learnings.ticketapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.exception.InvalidTicketStateException;
+import com.learnings.ticketapi.exception.TicketNotFoundException;
+import com.learnings.ticketapi.metrics.TicketMetrics;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.service.ReactiveTicketService;
+import com.learnings.ticketapi.util.ErrorMessages;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveTicketController.class)
+@TestPropertySource(properties = "ticket.reactive.enabled=true")
+public class ReactiveTicketControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ReactiveTicketService reactiveTicketService;
+
+    @MockBean
+    private TicketMetrics ticketMetrics;
+
+    @Test
+    void givenFilter_whenGettingTickets_thenTicketsAreStreamedAsNdjson() throws Exception {
+        TicketDto ticketDto1 = new TicketDto(1L, "Ticket 1", Status.CLOSED, LocalDateTime.of(2024, 1, 1, 9, 0), null, null, null);
+        TicketDto ticketDto2 = new TicketDto(2L, "Ticket 2", Status.CLOSED, LocalDateTime.of(2024, 1, 2, 9, 0), null, null, null);
+        when(reactiveTicketService.getTickets(any(TicketFilterDto.class))).thenReturn(Flux.just(ticketDto1, ticketDto2));
+
+        MvcResult result = mockMvc.perform(get("/reactive/tickets").param("status", "CLOSED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TicketController.NDJSON_MEDIA_TYPE))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(ticketDto1) + "\n"
+                                + objectMapper.writeValueAsString(ticketDto2) + "\n"));
+
+        verify(reactiveTicketService).getTickets(new TicketFilterDto(List.of(Status.CLOSED), null, null, null));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenGettingTickets_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/reactive/tickets")
+                        .param("startDate", "2023-06-25T00:00:00")
+                        .param("endDate", "2023-06-20T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(ErrorMessages.INVALID_DATE_RANGE));
+
+        verifyNoInteractions(reactiveTicketService);
+    }
+
+    @Test
+    void givenTicketInProgress_whenResolvingTicket_thenResolvedTicketIsReturned() throws Exception {
+        TicketDto resolved = new TicketDto(1L, "Ticket 1", Status.RESOLVED, LocalDateTime.of(2024, 1, 1, 9, 0), null, "Agent001", null);
+        when(reactiveTicketService.resolveTicket(1L)).thenReturn(Mono.just(resolved));
+
+        MvcResult result = mockMvc.perform(put("/reactive/tickets/1/resolve"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("RESOLVED")));
+    }
+
+    @Test
+    void givenTicketNotInProgress_whenResolvingTicket_thenReturnBadRequest() throws Exception {
+        when(reactiveTicketService.resolveTicket(1L)).thenReturn(Mono.error(
+                new InvalidTicketStateException(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED)));
+
+        MvcResult result = mockMvc.perform(put("/reactive/tickets/1/resolve"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED));
+    }
+
+    @Test
+    void givenUnknownTicket_whenGettingTicketById_thenReturnNotFound() throws Exception {
+        when(reactiveTicketService.getTicketById(9L)).thenReturn(Mono.error(new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)));
+
+        MvcResult result = mockMvc.perform(get("/reactive/tickets/9"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
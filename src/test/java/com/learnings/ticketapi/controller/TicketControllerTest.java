@@ -1,32 +1,71 @@
 package com.learnings.ticketapi.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketBacklogDto;
+import com.learnings.ticketapi.dto.TicketBatchResultDto;
+import com.learnings.ticketapi.dto.TicketCreationDto;
 import com.learnings.ticketapi.dto.TicketDto;
 import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketPageDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.dto.VersionedTicketDto;
+import com.learnings.ticketapi.event.TicketEventBroadcaster;
 import com.learnings.ticketapi.exception.*;
+import com.learnings.ticketapi.metrics.SqlStatementCounter;
+import com.learnings.ticketapi.metrics.TicketMetrics;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.service.TicketService;
 import com.learnings.ticketapi.util.ErrorMessages;
+import com.learnings.ticketapi.wire.TicketCbor;
+import com.learnings.ticketapi.wire.TicketCborHttpMessageConverter;
+import com.learnings.ticketapi.wire.TicketListPayloadCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TicketController.class)
+@Import(TicketListPayloadCache.class)
 public class TicketControllerTest {
 
     @Autowired
@@ -35,15 +74,24 @@ public class TicketControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TicketController ticketController;
+
     @MockBean
     private TicketService ticketService;
 
+    @MockBean
+    private TicketEventBroadcaster ticketEventBroadcaster;
+
+    @MockBean
+    private TicketMetrics ticketMetrics;
+
     @Test
     void givenTicketDetails_whenTicketIsCreated_thenTicketIsSaved() throws Exception {
         String ticketDescription = "Sample ticket description";
         TicketDto ticketDto = new TicketDto(null, ticketDescription, Status.NEW, null, null, null, null);
 
-        when(ticketService.createTicket(any(TicketDto.class))).thenReturn(ticketDto);
+        when(ticketService.createTicket(any(TicketDto.class))).thenReturn(new TicketCreationDto(ticketDto, null, false));
 
         mockMvc.perform(post("/tickets")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -51,9 +99,63 @@ public class TicketControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.description", is(ticketDescription)))
                 .andExpect(jsonPath("$.status", is(Status.NEW.name())))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
         ;
     }
 
+    @Test
+    void givenDuplicateTicket_whenTicketIsCreated_thenLinkToCanonicalTicketIsReturned() throws Exception {
+        TicketDto ticketDto = new TicketDto(null, "VPN is down", Status.NEW, null, null, null, null);
+        TicketDto createdTicket = new TicketDto(8L, "VPN is down", Status.NEW, null, null, null, null);
+
+        when(ticketService.createTicket(any(TicketDto.class))).thenReturn(new TicketCreationDto(createdTicket, 7L, false));
+
+        mockMvc.perform(post("/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ticketDto)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(HttpHeaders.LINK, "</tickets/7>; rel=\"duplicate-of\""))
+                .andExpect(jsonPath("$.id", is(8)));
+    }
+
+    @Test
+    void givenMergedDuplicateTicket_whenTicketIsCreated_thenCanonicalTicketIsReturnedWithOk() throws Exception {
+        TicketDto ticketDto = new TicketDto(null, "VPN is down", Status.NEW, null, null, null, null);
+        TicketDto canonicalTicket = new TicketDto(7L, "VPN is down!", Status.IN_PROGRESS, null, null, null, null);
+
+        when(ticketService.createTicket(any(TicketDto.class))).thenReturn(new TicketCreationDto(canonicalTicket, 7L, true));
+
+        mockMvc.perform(post("/tickets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ticketDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.LINK, "</tickets/7>; rel=\"duplicate-of\""))
+                .andExpect(jsonPath("$.id", is(7)))
+                .andExpect(jsonPath("$.status", is(Status.IN_PROGRESS.name())));
+    }
+
+    @Test
+    void givenTicketBatch_whenTicketsAreCreated_thenPerItemResultsAreReturned() throws Exception {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "Sample ticket description", null, null, null, null, null),
+                new TicketDto(null, null, null, null, null, null, null)
+        );
+        List<TicketBatchResultDto> results = List.of(
+                new TicketBatchResultDto(0, new TicketDto(1L, "Sample ticket description", Status.NEW, null, null, null, null), null),
+                new TicketBatchResultDto(1, null, ErrorMessages.DESCRIPTION_REQUIRED)
+        );
+
+        when(ticketService.createTickets(anyList())).thenReturn(results);
+
+        mockMvc.perform(post("/tickets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].ticket.status", is(Status.NEW.name())))
+                .andExpect(jsonPath("$[1].error", is(ErrorMessages.DESCRIPTION_REQUIRED)));
+    }
+
     @Test
     void givenNewTicket_whenAssigningAgent_thenStatusIsInProgress() throws Exception {
         Long ticketId = 1L;
@@ -184,6 +286,25 @@ public class TicketControllerTest {
                 .andExpect(content().string(ErrorMessages.ONLY_TICKETS_IN_PROGRESS_CAN_BE_RESOLVED));
     }
 
+    @Test
+    void givenTicketIds_whenResolvingInBulk_thenPerTicketOutcomesAreReturned() throws Exception {
+        BulkTicketRequestDto request = new BulkTicketRequestDto(List.of(1L, 2L), null);
+        List<BulkTransitionResultDto> results = List.of(
+                new BulkTransitionResultDto(1L, BulkTransitionResultDto.Outcome.UPDATED),
+                new BulkTransitionResultDto(2L, BulkTransitionResultDto.Outcome.INVALID_STATE)
+        );
+
+        when(ticketService.resolveTickets(any(BulkTicketRequestDto.class))).thenReturn(results);
+
+        mockMvc.perform(put("/tickets/bulk/resolve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].outcome", is("UPDATED")))
+                .andExpect(jsonPath("$[1].outcome", is("INVALID_STATE")));
+    }
+
     @Test
     void givenTicketDetails_whenTicketIsUpdated_thenDetailsAreUpdated() throws Exception {
         Long ticketId = 1L;
@@ -230,7 +351,7 @@ public class TicketControllerTest {
                 null
         );
 
-        when(ticketService.getTicketById(eq(ticketId))).thenReturn(ticketDto);
+        when(ticketService.getVersionedTicketById(eq(ticketId))).thenReturn(new VersionedTicketDto(ticketDto, 0L));
 
         mockMvc.perform(get("/tickets/{id}", ticketId).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
@@ -275,6 +396,114 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$[1].id", is(ticketDto2.id().intValue())));
     }
 
+    @Test
+    void givenTicketCborAccepted_whenGettingTickets_thenCompactEncodingIsReturned() throws Exception {
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.of(2024, 1, 1, 9, 0), null, null, null),
+                new TicketDto(2L, "Ticket 2", Status.IN_PROGRESS, LocalDateTime.of(2024, 1, 2, 9, 0), null, "Agent001", null));
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("2-3-1");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(tickets);
+
+        byte[] body = mockMvc.perform(get("/tickets").accept(TicketCborHttpMessageConverter.TICKET_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TicketCbor.MEDIA_TYPE_VALUE))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(tickets, TicketCbor.read(new ByteArrayInputStream(body)));
+    }
+
+    @Test
+    void givenAnyMediaTypeAccepted_whenGettingTickets_thenJsonIsReturned() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("0-0-0");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/tickets").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void givenGzipAccepted_whenGettingSameTicketsTwice_thenSecondResponseIsWrittenFromPayloadCache() throws Exception {
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.IN_PROGRESS, LocalDateTime.of(2024, 1, 1, 9, 0), null, "Agent101", null));
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("1-1-0");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(tickets);
+
+        for(int request = 0; request < 2; request++) {
+            byte[] body = mockMvc.perform(get("/tickets")
+                            .param("assignedAgent", "Agent101")
+                            .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                    .andExpect(header().stringValues(HttpHeaders.VARY, contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)))
+                    .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-1-0\""))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertEquals(tickets, objectMapper.readValue(json, objectMapper.getTypeFactory()
+                        .constructCollectionType(List.class, TicketDto.class)));
+            }
+        }
+
+        verify(ticketService, times(1)).getTicketsVersionTag(any(TicketFilterDto.class));
+        verify(ticketService, times(1)).getTickets(any(TicketFilterDto.class));
+    }
+
+    @Test
+    void givenCachedPayloadAndMatchingETag_whenGettingTickets_thenReturnNotModifiedWithoutQueries() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("0-0-0");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/tickets")
+                        .param("assignedAgent", "Agent102")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/tickets")
+                        .param("assignedAgent", "Agent102")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"0-0-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(ticketService, times(1)).getTicketsVersionTag(any(TicketFilterDto.class));
+        verify(ticketService, times(1)).getTickets(any(TicketFilterDto.class));
+    }
+
+    @Test
+    void givenGzipAndTicketCborAccepted_whenGettingTickets_thenCompressedCompactEncodingIsReturned() throws Exception {
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.of(2024, 1, 1, 9, 0), null, "Agent103", null));
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("1-1-0");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(tickets);
+
+        byte[] body = mockMvc.perform(get("/tickets")
+                        .param("assignedAgent", "Agent103")
+                        .accept(TicketCborHttpMessageConverter.TICKET_CBOR)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TicketCbor.MEDIA_TYPE_VALUE))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream cbor = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals(tickets, TicketCbor.read(cbor));
+        }
+    }
+
+    @Test
+    void givenGzipRefused_whenGettingTickets_thenUncompressedJsonIsReturned() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("0-0-0");
+        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(List.of());
+
+        mockMvc.perform(get("/tickets")
+                        .param("assignedAgent", "Agent104")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     @DisplayName("Given a non-existent ticket, when resolving the ticket, then a TicketNotFoundException is thrown")
     void givenNonExistingTicket_whenResolving_thenThrowException() throws Exception {
@@ -347,7 +576,7 @@ public class TicketControllerTest {
     void givenNonExistingTicket_whenGettingTicket_thenThrowException() throws Exception {
         Long nonExistentTicketId = 999L;
 
-        when(ticketService.getTicketById(nonExistentTicketId)).thenThrow(
+        when(ticketService.getVersionedTicketById(nonExistentTicketId)).thenThrow(
                 new TicketNotFoundException(ErrorMessages.TICKET_NOT_FOUND)
         );
 
@@ -388,4 +617,291 @@ public class TicketControllerTest {
         ;
     }
 
+    @Test
+    void givenCursorAndSize_whenGettingTicketPage_thenReturnPageWithNextCursor() throws Exception {
+        TicketDto ticketDto = new TicketDto(1L, "Sample ticket description", Status.CLOSED, LocalDateTime.now(), LocalDateTime.now(), null, "Fixed.");
+        TicketPageDto page = new TicketPageDto(List.of(ticketDto), "next-cursor");
+
+        when(ticketService.getTicketPage(any(TicketFilterDto.class), eq("cursor"), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/tickets/page")
+                        .param("status", "CLOSED")
+                        .param("cursor", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+    }
+
+    @Test
+    void givenFilterCriteria_whenExportingTickets_thenTicketsAreStreamedAsNdjson() throws Exception {
+        TicketDto ticketDto1 = new TicketDto(1L, "Ticket 1", Status.CLOSED, null, null, null, null);
+        TicketDto ticketDto2 = new TicketDto(2L, "Ticket 2", Status.CLOSED, null, null, null, null);
+
+        doAnswer(invocation -> {
+            Consumer<TicketDto> consumer = invocation.getArgument(1);
+            consumer.accept(ticketDto1);
+            consumer.accept(ticketDto2);
+            return null;
+        }).when(ticketService).streamTickets(any(TicketFilterDto.class), any());
+
+        MvcResult result = mockMvc.perform(get("/tickets/export").param("status", "CLOSED"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TicketController.NDJSON_MEDIA_TYPE))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(ticketDto1) + "\n"
+                                + objectMapper.writeValueAsString(ticketDto2) + "\n"));
+    }
+
+    @Test
+    void givenTicketCborAccepted_whenExportingTickets_thenTicketsAreStreamedInCompactEncoding() throws Exception {
+        TicketDto ticketDto1 = new TicketDto(1L, "Ticket 1", Status.CLOSED, LocalDateTime.of(2024, 1, 1, 9, 0), null, "Agent001", "Done");
+        TicketDto ticketDto2 = new TicketDto(2L, "Ticket 2", Status.CLOSED, LocalDateTime.of(2024, 1, 2, 9, 0), null, "Agent001", "Done");
+
+        doAnswer(invocation -> {
+            Consumer<TicketDto> consumer = invocation.getArgument(1);
+            consumer.accept(ticketDto1);
+            consumer.accept(ticketDto2);
+            return null;
+        }).when(ticketService).streamTickets(any(TicketFilterDto.class), any());
+
+        MvcResult result = mockMvc.perform(get("/tickets/export")
+                        .param("status", "CLOSED")
+                        .accept(TicketCborHttpMessageConverter.TICKET_CBOR))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TicketCbor.MEDIA_TYPE_VALUE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(List.of(ticketDto1, ticketDto2), TicketCbor.read(new ByteArrayInputStream(body)));
+    }
+
+    @Test
+    void givenStreamFailsMidway_whenExportingTicketCbor_thenListIsLeftUnterminated() {
+        TicketDto ticketDto = new TicketDto(1L, "Ticket 1", Status.CLOSED, LocalDateTime.of(2024, 1, 1, 9, 0), null, "Agent001", "Done");
+
+        doAnswer(invocation -> {
+            Consumer<TicketDto> consumer = invocation.getArgument(1);
+            consumer.accept(ticketDto);
+            throw new IllegalStateException("connection reset");
+        }).when(ticketService).streamTickets(any(TicketFilterDto.class), any());
+
+        StreamingResponseBody body = ticketController.exportTickets(
+                new TicketFilterDto(List.of(Status.CLOSED), null, null, null), TicketCbor.MEDIA_TYPE_VALUE).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> body.writeTo(out));
+        assertThrows(EOFException.class, () -> TicketCbor.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenExportingTickets_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tickets/export")
+                        .param("startDate", LocalDateTime.now().toString())
+                        .param("endDate", LocalDateTime.now().minusDays(3).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(ErrorMessages.INVALID_DATE_RANGE));
+    }
+
+    @Test
+    void givenFilterAndBucket_whenGettingTicketStats_thenReturnAggregates() throws Exception {
+        TicketStatsDto stats = new TicketStatsDto(
+                3,
+                Map.of(Status.NEW, 1L, Status.CLOSED, 2L),
+                Map.of("Agent001", 2L),
+                1,
+                Map.of(LocalDateTime.of(2023, 6, 1, 9, 0), 3L),
+                5400.0
+        );
+
+        when(ticketService.getTicketStats(any(TicketFilterDto.class), eq(DateBucket.HOUR))).thenReturn(stats);
+
+        mockMvc.perform(get("/tickets/stats")
+                        .param("status", "NEW,CLOSED")
+                        .param("bucket", "HOUR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.byStatus.CLOSED", is(2)))
+                .andExpect(jsonPath("$.byAgent.Agent001", is(2)))
+                .andExpect(jsonPath("$.meanTimeToCloseSeconds", is(5400.0)));
+    }
+
+    @Test
+    void givenLiveCounters_whenGettingTicketBacklog_thenReturnCountsByStatusAndAgent() throws Exception {
+        TicketBacklogDto backlog = new TicketBacklogDto(
+                Map.of(Status.NEW, 4L, Status.IN_PROGRESS, 2L),
+                Map.of(1L, Map.of(Status.IN_PROGRESS, 2L))
+        );
+
+        when(ticketService.getTicketBacklog()).thenReturn(backlog);
+
+        mockMvc.perform(get("/tickets/backlog"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.NEW", is(4)))
+                .andExpect(jsonPath("$.byAgent.1.IN_PROGRESS", is(2)));
+    }
+
+    @Test
+    void givenSaturatedConnectionPool_whenGettingTicket_thenReturnServiceUnavailable() throws Exception {
+        when(ticketService.getVersionedTicketById(1L)).thenThrow(new ServiceBusyException(ErrorMessages.SERVICE_BUSY));
+
+        mockMvc.perform(get("/tickets/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().string(ErrorMessages.SERVICE_BUSY));
+
+        verify(ticketMetrics).recordError(any(ServiceBusyException.class), eq(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void givenAnyRequest_whenHandled_thenStatementsAreRecordedUnderItsRoute() throws Exception {
+        when(ticketService.getVersionedTicketById(1L)).thenReturn(
+                new VersionedTicketDto(new TicketDto(1L, "Ticket", Status.NEW, null, null, null, null), 0L));
+
+        mockMvc.perform(get("/tickets/1"))
+                .andExpect(status().isOk());
+
+        verify(ticketMetrics).recordRequestStatements("GET", "/tickets/{id}", 0L);
+    }
+
+    @Test
+    void givenListWithinItsSqlBudget_whenGettingTickets_thenNoBudgetBreachIsRecorded() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).then(invocation -> {
+            SqlStatementCounter.recordRoundTrip(1);
+            return "1-1-1";
+        });
+        when(ticketService.getTickets(any(TicketFilterDto.class))).then(invocation -> {
+            SqlStatementCounter.recordRoundTrip(1);
+            return List.of();
+        });
+
+        mockMvc.perform(get("/tickets"))
+                .andExpect(status().isOk());
+
+        verify(ticketMetrics).recordRequestStatements("GET", "/tickets", 2L);
+        verify(ticketMetrics, never()).recordSqlBudgetExceeded(any(), any());
+    }
+
+    @Test
+    void givenListLoadingAgentsPerRow_whenGettingTickets_thenBudgetBreachIsRecorded() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).then(invocation -> {
+            SqlStatementCounter.recordRoundTrip(1);
+            return "2-1-1";
+        });
+        when(ticketService.getTickets(any(TicketFilterDto.class))).then(invocation -> {
+            for(int i = 0; i < 3; i++) {
+                SqlStatementCounter.recordRoundTrip(1);
+            }
+            return List.of();
+        });
+
+        mockMvc.perform(get("/tickets"))
+                .andExpect(status().isOk());
+
+        verify(ticketMetrics).recordSqlBudgetExceeded("GET", "/tickets");
+    }
+
+    @Test
+    void givenConcurrentModification_whenResolvingTicket_thenReturnConflict() throws Exception {
+        when(ticketService.resolveTicket(1L)).thenThrow(new TicketConflictException(ErrorMessages.TICKET_CONFLICT));
+
+        mockMvc.perform(put("/tickets/1/resolve"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(ErrorMessages.TICKET_CONFLICT));
+    }
+
+    @Test
+    void givenFilter_whenSubscribingToTicketEvents_thenEventStreamIsOpenedForThatFilter() throws Exception {
+        when(ticketEventBroadcaster.subscribe(any(TicketFilterDto.class))).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/tickets/events")
+                        .param("status", "NEW,IN_PROGRESS")
+                        .param("assignedAgent", "Agent001"))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+
+        verify(ticketEventBroadcaster).subscribe(new TicketFilterDto(List.of(Status.NEW, Status.IN_PROGRESS), null, null, "Agent001"));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenSubscribingToTicketEvents_thenReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/tickets/events")
+                        .param("startDate", "2023-06-25T00:00:00")
+                        .param("endDate", "1999-06-25T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(ErrorMessages.INVALID_DATE_RANGE));
+
+        verifyNoInteractions(ticketEventBroadcaster);
+    }
+
+    @Test
+    void givenTicket_whenGettingTicket_thenVersionIsReturnedAsStrongETag() throws Exception {
+        TicketDto ticketDto = new TicketDto(1L, "description", Status.NEW, null, null, null, null);
+        when(ticketService.getVersionedTicketById(1L)).thenReturn(new VersionedTicketDto(ticketDto, 3L));
+
+        mockMvc.perform(get("/tickets/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.id", is(1)));
+    }
+
+    @Test
+    void givenMatchingETag_whenGettingTicket_thenReturnNotModifiedFromTheCachedVersion() throws Exception {
+        TicketDto ticketDto = new TicketDto(1L, "description", Status.NEW, null, null, null, null);
+        when(ticketService.getVersionedTicketById(1L)).thenReturn(new VersionedTicketDto(ticketDto, 3L));
+
+        mockMvc.perform(get("/tickets/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(ticketService, times(1)).getVersionedTicketById(1L);
+        verifyNoMoreInteractions(ticketService);
+    }
+
+    @Test
+    void givenMatchingWeakETag_whenGettingTickets_thenReturnNotModifiedWithoutQueryingTickets() throws Exception {
+        when(ticketService.getTicketsVersionTag(any(TicketFilterDto.class))).thenReturn("2-5-1");
+
+        mockMvc.perform(get("/tickets")
+                        .param("status", "NEW")
+                        .header("If-None-Match", "W/\"2-5-1\""))
+                .andExpect(status().isNotModified());
+
+        verify(ticketService, never()).getTickets(any(TicketFilterDto.class));
+    }
+
+    @Test
+    void givenQueryAndFilter_whenSearchingTickets_thenReturnRankedPage() throws Exception {
+        TicketSearchPageDto results = new TicketSearchPageDto(
+                List.of(new TicketDto(7L, "VPN timeout", Status.NEW, null, null, null, null)), 0, 20, false);
+        when(ticketService.searchTickets(eq("vpn timeout"), any(TicketFilterDto.class), eq(0), eq(20))).thenReturn(results);
+
+        mockMvc.perform(get("/tickets/search")
+                        .param("q", "vpn timeout")
+                        .param("status", "NEW")
+                        .param("page", "0")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].id", is(7)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void givenMissingQuery_whenSearchingTickets_thenReturnBadRequest() throws Exception {
+        when(ticketService.searchTickets(eq(null), any(TicketFilterDto.class), eq(null), eq(null)))
+                .thenThrow(new InvalidSearchQueryException(ErrorMessages.SEARCH_QUERY_REQUIRED));
+
+        mockMvc.perform(get("/tickets/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(ErrorMessages.SEARCH_QUERY_REQUIRED));
+    }
+
 }
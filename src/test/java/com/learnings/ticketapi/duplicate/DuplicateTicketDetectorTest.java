@@ -0,0 +1,126 @@
+package com.learnings.ticketapi.duplicate;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DuplicateTicketDetectorTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2023, 6, 1, 9, 0);
+    private static final String VPN_DESCRIPTION = "VPN connection drops every few minutes when working from home";
+
+    private DuplicateTicketDetector duplicateTicketDetector;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setup() {
+        duplicateTicketDetector = new DuplicateTicketDetector(ticketRepository, TransactionOperations.withoutTransaction(), DuplicateMode.LINK);
+    }
+
+    @Test
+    void givenOpenTickets_whenRebuilt_thenNearIdenticalDescriptionsResolveToFirstTicket() {
+        when(ticketRepository.streamWithFilters(List.of(Status.NEW, Status.IN_PROGRESS), null, null, null)).thenReturn(Stream.of(
+                ticket(1L, VPN_DESCRIPTION, Status.IN_PROGRESS),
+                ticket(2L, "vpn connection drops every few minutes, when working from home!", Status.NEW),
+                ticket(3L, "Printer on floor 3 is jammed", Status.NEW)
+        ));
+
+        duplicateTicketDetector.rebuild();
+
+        assertEquals(2, duplicateTicketDetector.indexedTickets());
+        assertEquals(OptionalLong.of(1L), duplicateTicketDetector.findDuplicateOf("VPN connection drops every few minutes when working from home."));
+        assertEquals(OptionalLong.of(3L), duplicateTicketDetector.findDuplicateOf("printer on floor 3 is jammed"));
+    }
+
+    @Test
+    void givenUnrelatedDescription_whenLookingUpDuplicate_thenNoneIsFound() {
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.NEW), 0L));
+
+        assertTrue(duplicateTicketDetector.findDuplicateOf("Cannot log in to the payroll portal, password reset email never arrives").isEmpty());
+    }
+
+    @Test
+    void givenTicketLeavesOpenState_whenLookingUpDuplicate_thenItIsNoLongerFound() {
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.IN_PROGRESS), 1L));
+
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.RESOLVED), 2L));
+
+        assertTrue(duplicateTicketDetector.findDuplicateOf(VPN_DESCRIPTION).isEmpty());
+        assertEquals(0, duplicateTicketDetector.indexedTickets());
+    }
+
+    @Test
+    void givenChangesHeardOutOfOrder_whenTracking_thenTheOlderOneIsIgnored() {
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.CLOSED), 3L));
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.IN_PROGRESS), 1L));
+
+        assertTrue(duplicateTicketDetector.findDuplicateOf(VPN_DESCRIPTION).isEmpty());
+        assertEquals(0, duplicateTicketDetector.indexedTickets());
+    }
+
+    @Test
+    void givenTicketChangesWhileIndexIsRebuilt_whenRebuilt_thenTheSnapshotDoesNotOverwriteIt() {
+        when(ticketRepository.streamWithFilters(List.of(Status.NEW, Status.IN_PROGRESS), null, null, null)).thenAnswer(invocation -> {
+            // Closed after the snapshot read it as open, but before it is tracked.
+            duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.CLOSED), 3L));
+            return Stream.of(ticket(1L, VPN_DESCRIPTION, Status.IN_PROGRESS));
+        });
+
+        duplicateTicketDetector.rebuild();
+
+        assertTrue(duplicateTicketDetector.findDuplicateOf(VPN_DESCRIPTION).isEmpty());
+    }
+
+    @Test
+    void givenBatch_whenLookingUpDuplicates_thenEarlierTicketsOfTheBatchAreFoundToo() {
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.NEW), 0L));
+
+        List<BatchDuplicate> duplicates = duplicateTicketDetector.findDuplicatesOf(List.of(
+                "VPN connection drops every few minutes when working from home!",
+                "Printer on floor 3 is jammed",
+                "Payroll portal rejects my password",
+                "printer on floor 3 is jammed."));
+
+        assertEquals(Arrays.asList(BatchDuplicate.ofTicket(1L), null, null, BatchDuplicate.ofEarlier(1)), duplicates);
+    }
+
+    @Test
+    void givenDetectionOff_whenLookingUpDuplicate_thenIndexIsNeverBuilt() {
+        duplicateTicketDetector = new DuplicateTicketDetector(ticketRepository, TransactionOperations.withoutTransaction(), DuplicateMode.OFF);
+
+        duplicateTicketDetector.rebuild();
+        duplicateTicketDetector.onTicketChanged(changed(ticket(1L, VPN_DESCRIPTION, Status.NEW), 0L));
+
+        assertTrue(duplicateTicketDetector.findDuplicateOf(VPN_DESCRIPTION).isEmpty());
+        verifyNoInteractions(ticketRepository);
+    }
+
+    private static TicketDto ticket(Long id, String description, Status status) {
+        return new TicketDto(id, description, status, CREATED_DATE, null, null, null);
+    }
+
+    private static TicketChangedEvent changed(TicketDto ticket, long version) {
+        return new TicketChangedEvent(ticket.id(), null, ticket.status(), null, null, CREATED_DATE, ticket, version);
+    }
+}
@@ -0,0 +1,201 @@
+package com.learnings.ticketapi.event;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.model.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TicketEventBroadcasterTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final TicketFilterDto NEW_TICKETS = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+
+    private final BlockingQueue<RecordingEmitter> emitters = new LinkedBlockingQueue<>();
+
+    @Test
+    void givenMatchingSubscriber_whenTicketIsCreated_thenTicketIsSent() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(NEW_TICKETS);
+        RecordingEmitter emitter = emitters.take();
+
+        TicketDto ticket = ticket(1L, Status.NEW, null, CREATED);
+        broadcaster.onTicketChanged(event(null, null, null, ticket));
+
+        assertEquals(ticket, emitter.received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenStatusFilteredSubscriber_whenTicketLeavesTheFilter_thenItsNewStateIsSent() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(NEW_TICKETS);
+        RecordingEmitter emitter = emitters.take();
+
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001", CREATED);
+        broadcaster.onTicketChanged(event(Status.NEW, null, 1L, assigned));
+
+        assertEquals(assigned, emitter.received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenChangesHeardOutOfOrder_whenBroadcasting_thenTheOlderOneIsNotSent() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(new TicketFilterDto(null, null, null, null));
+        RecordingEmitter emitter = emitters.take();
+
+        TicketDto resolved = ticket(1L, Status.RESOLVED, "Agent001", CREATED);
+        broadcaster.onTicketChanged(new TicketChangedEvent(1L, Status.IN_PROGRESS, Status.RESOLVED, 1L, 1L, CREATED, resolved, 3L));
+        TicketDto assigned = ticket(1L, Status.IN_PROGRESS, "Agent001", CREATED);
+        broadcaster.onTicketChanged(new TicketChangedEvent(1L, Status.NEW, Status.IN_PROGRESS, null, 1L, CREATED, assigned, 2L));
+        TicketDto other = ticket(2L, Status.NEW, null, CREATED);
+        broadcaster.onTicketChanged(event(null, null, null, other));
+
+        assertEquals(resolved, emitter.received.poll(5, TimeUnit.SECONDS));
+        assertEquals(other, emitter.received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenSubscriber_whenTicketOutsideItsFilterChanges_thenNothingIsSent() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(NEW_TICKETS);
+        RecordingEmitter emitter = emitters.take();
+
+        broadcaster.onTicketChanged(event(Status.RESOLVED, 1L, 1L, ticket(1L, Status.CLOSED, "Agent001", CREATED)));
+        TicketDto created = ticket(2L, Status.NEW, null, CREATED);
+        broadcaster.onTicketChanged(event(null, null, null, created));
+
+        // Buffers are FIFO, so anything sent for the first change would arrive first.
+        assertEquals(created, emitter.received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenDateFilteredSubscriber_whenTicketWithoutCreatedDateChanges_thenItIsSentWithoutFailing() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(new TicketFilterDto(null, CREATED.minusDays(1), CREATED.plusDays(1), null));
+        RecordingEmitter emitter = emitters.take();
+
+        TicketDto undated = ticket(1L, Status.NEW, null, null);
+        assertDoesNotThrow(() -> broadcaster.onTicketChanged(event(null, null, null, undated)));
+
+        assertEquals(undated, emitter.received.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givenSlowSubscriber_whenItsBufferOverflows_thenItIsDisconnectedAndItsSenderStops() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(1);
+        broadcaster.subscribe(new TicketFilterDto(null, null, null, null));
+        RecordingEmitter emitter = emitters.take();
+        emitter.blocked = true;
+
+        broadcaster.onTicketChanged(event(null, null, null, ticket(1L, Status.NEW, null, CREATED)));
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        broadcaster.onTicketChanged(event(null, null, null, ticket(2L, Status.NEW, null, CREATED)));
+        broadcaster.onTicketChanged(event(null, null, null, ticket(3L, Status.NEW, null, CREATED)));
+
+        assertEquals(0, broadcaster.subscriberCount());
+        assertTrue(emitter.completed);
+        assertSenderStops(emitter);
+    }
+
+    @Test
+    void givenClientHasGone_whenSendFails_thenSubscriberIsRemovedAndItsSenderStops() throws Exception {
+        TicketEventBroadcaster broadcaster = broadcaster(8);
+        broadcaster.subscribe(NEW_TICKETS);
+        RecordingEmitter emitter = emitters.take();
+        emitter.failing = true;
+
+        broadcaster.onTicketChanged(event(null, null, null, ticket(1L, Status.NEW, null, CREATED)));
+
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        assertSenderStops(emitter);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    private void assertSenderStops(RecordingEmitter emitter) throws InterruptedException {
+        Thread sender = emitter.sender;
+        assertNotNull(sender);
+        sender.join(Duration.ofSeconds(5));
+        assertFalse(sender.isAlive());
+    }
+
+    private TicketEventBroadcaster broadcaster(int bufferSize) {
+        return new TicketEventBroadcaster(bufferSize, Duration.ofMinutes(1), Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static TicketDto ticket(Long id, Status status, String agent, LocalDateTime createdDate) {
+        return new TicketDto(id, "Ticket " + id, status, createdDate, null, agent, null);
+    }
+
+    private static TicketChangedEvent event(Status previousStatus, Long previousAgentId, Long agentId, TicketDto ticket) {
+        return new TicketChangedEvent(ticket.id(), previousStatus, ticket.status(), previousAgentId, agentId, CREATED, ticket, 1L);
+    }
+
+    /**
+     * Records the tickets sent to it instead of writing to a response. A blocked emitter
+     * holds its sender inside send until interrupted, like a client that stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<TicketDto> received = new LinkedBlockingQueue<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private volatile boolean blocked;
+        private volatile boolean failing;
+        private volatile boolean completed;
+        private volatile Thread sender;
+
+        private RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sender = Thread.currentThread();
+            for(ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if(!(data.getData() instanceof TicketDto ticket)) {
+                    continue;
+                }
+                sending.countDown();
+                if(failing) {
+                    throw new IOException("Broken pipe");
+                }
+                if(blocked) {
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        throw new IOException("Interrupted while writing", e);
+                    }
+                }
+                received.add(ticket);
+            }
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.learnings.ticketapi.metrics;
+
+import com.learnings.ticketapi.model.Agent;
+import com.learnings.ticketapi.repository.AgentRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class SecondLevelCacheMetricsTest {
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void givenCachedAgent_whenReadAgain_thenSecondLevelCacheHitIsReported() {
+        Agent agent = agentRepository.save(new Agent(null, "Cached Agent"));
+        double hitsBefore = agentRegionHits();
+
+        agentRepository.findById(agent.getId());
+        agentRepository.findById(agent.getId());
+
+        assertTrue(agentRegionHits() > hitsBefore);
+    }
+
+    private double agentRegionHits() {
+        FunctionCounter hits = meterRegistry.find("cache.gets")
+                .tags("cache", Agent.class.getName(), "cache.manager", "hibernate", "result", "hit")
+                .functionCounter();
+        return hits == null ? 0 : hits.count();
+    }
+}
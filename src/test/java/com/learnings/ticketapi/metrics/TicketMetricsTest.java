@@ -0,0 +1,81 @@
+package com.learnings.ticketapi.metrics;
+
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.exception.TicketNotFoundException;
+import com.learnings.ticketapi.model.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TicketMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TicketMetrics ticketMetrics;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketMetrics = new TicketMetrics(meterRegistry);
+    }
+
+    @Test
+    void givenCreationAndTransitions_whenCommitted_thenTheyAreCountedPerStatusPair() {
+        ticketMetrics.onTicketChanged(changed(null, Status.NEW));
+        ticketMetrics.onTicketChanged(changed(Status.NEW, Status.IN_PROGRESS));
+        ticketMetrics.onTicketChanged(changed(Status.NEW, Status.IN_PROGRESS));
+        ticketMetrics.onTicketChanged(changed(Status.IN_PROGRESS, Status.IN_PROGRESS));
+
+        assertEquals(1.0, transitions("NONE", "NEW"));
+        assertEquals(2.0, transitions("NEW", "IN_PROGRESS"));
+        assertEquals(0.0, transitions("IN_PROGRESS", "IN_PROGRESS"));
+    }
+
+    @Test
+    void givenResultsAndErrors_whenRecorded_thenTheyAreTaggedByQueryAndException() {
+        ticketMetrics.recordResults(TicketMetrics.Query.PAGE, 50);
+        ticketMetrics.recordResults(TicketMetrics.Query.PAGE, 10);
+        ticketMetrics.recordError(new TicketNotFoundException("missing"), HttpStatus.NOT_FOUND);
+        ticketMetrics.recordError(new TicketNotFoundException("missing"), HttpStatus.NOT_FOUND);
+
+        assertEquals(60.0, meterRegistry.get(TicketMetrics.RESULT_SIZE).tag("query", "page").summary().totalAmount());
+        assertEquals(2.0, meterRegistry.get(TicketMetrics.ERRORS)
+                .tag("exception", "TicketNotFoundException")
+                .tag("status", "404")
+                .counter().count());
+    }
+
+    @Test
+    void givenRequestStatements_whenRecorded_thenTheyAreSummarisedPerRoute() {
+        ticketMetrics.recordRequestStatements("GET", "/tickets/{id}", 2);
+        ticketMetrics.recordRequestStatements("GET", "/tickets/{id}", 4);
+
+        assertEquals(3.0, meterRegistry.get(TicketMetrics.REQUEST_STATEMENTS)
+                .tag("method", "GET")
+                .tag("uri", "/tickets/{id}")
+                .summary().mean());
+    }
+
+    @Test
+    void givenSqlBudgetBreaches_whenRecorded_thenTheyAreCountedPerRoute() {
+        ticketMetrics.recordSqlBudgetExceeded("GET", "/tickets");
+        ticketMetrics.recordSqlBudgetExceeded("GET", "/tickets");
+
+        assertEquals(2.0, meterRegistry.get(TicketMetrics.SQL_BUDGET_EXCEEDED)
+                .tag("method", "GET")
+                .tag("uri", "/tickets")
+                .counter().count());
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.get(TicketMetrics.TRANSITIONS).tag("from", from).tag("to", to).counter().count();
+    }
+
+    private static TicketChangedEvent changed(Status previousStatus, Status status) {
+        return new TicketChangedEvent(1L, previousStatus, status, null, null, LocalDateTime.now(), null, 1L);
+    }
+}
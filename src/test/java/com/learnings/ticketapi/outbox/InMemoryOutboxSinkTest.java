@@ -0,0 +1,98 @@
+package com.learnings.ticketapi.outbox;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Agent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.AgentRepository;
+import com.learnings.ticketapi.repository.OutboxEventRepository;
+import com.learnings.ticketapi.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestPropertySource(properties = {"ticket.outbox.sink=memory", "ticket.outbox.relay-interval=PT1H"})
+public class InMemoryOutboxSinkTest {
+
+    private static final List<TicketOutboxMessage> received = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class SubscriberConfig {
+
+        @Bean
+        OutboxSubscriber recordingSubscriber() {
+            return received::addAll;
+        }
+    }
+
+    @Autowired
+    private TicketService ticketService;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private InMemoryOutboxSink inMemoryOutboxSink;
+
+    @AfterEach
+    void cleanup() {
+        received.clear();
+    }
+
+    @Test
+    void givenSubscriberBean_whenTransitionsAreRelayed_thenSubscriberSeesThemAndOutboxDrains() {
+        Agent agent = agentRepository.save(new Agent(null, "Outbox Agent"));
+        TicketDto ticket = ticketService.createTicket(new TicketDto(null, "Outbox delivery", null, null, null, null, null)).ticket();
+        ticketService.assignAgentToTicket(ticket.id(), agent.getId());
+
+        outboxRelay.drain();
+
+        List<TicketOutboxMessage> ticketMessages = received.stream()
+                .filter(message -> message.ticketId().equals(ticket.id()))
+                .toList();
+        assertEquals(List.of(Status.NEW, Status.IN_PROGRESS), ticketMessages.stream().map(TicketOutboxMessage::status).toList());
+        assertEquals(agent.getId(), ticketMessages.get(1).agentId());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void givenFailingSubscriber_whenRelayed_thenRowsStayUntilItRecovers() {
+        List<Integer> attempts = new CopyOnWriteArrayList<>();
+        OutboxSubscriber failingOnce = messages -> {
+            attempts.add(messages.size());
+            if(attempts.size() == 1) {
+                throw new IllegalStateException("consumer unavailable");
+            }
+        };
+        inMemoryOutboxSink.subscribe(failingOnce);
+        try {
+            TicketDto ticket = ticketService.createTicket(new TicketDto(null, "Outbox retry", null, null, null, null, null)).ticket();
+
+            outboxRelay.drain();
+            assertEquals(1, outboxEventRepository.count());
+
+            outboxRelay.drain();
+            assertEquals(0, outboxEventRepository.count());
+            assertEquals(2, attempts.size());
+            assertTrue(received.stream().anyMatch(message -> message.ticketId().equals(ticket.id())));
+        } finally {
+            inMemoryOutboxSink.unsubscribe(failingOnce);
+        }
+    }
+}
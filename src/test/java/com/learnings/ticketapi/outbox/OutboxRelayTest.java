@@ -0,0 +1,90 @@
+package com.learnings.ticketapi.outbox;
+
+import com.learnings.ticketapi.model.OutboxEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private OutboxRelay outboxRelay;
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @BeforeEach
+    void setup() {
+        outboxRelay = new OutboxRelay(outboxEventRepository, outboxSink, TransactionOperations.withoutTransaction(), BATCH_SIZE, 10);
+    }
+
+    @Test
+    void givenPendingEvents_whenDraining_thenBatchesAreDeliveredInOrderAndDeleted() throws Exception {
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)))
+                .thenReturn(List.of(event(3L)));
+        when(outboxSink.deliver(anyList())).thenReturn(true);
+
+        outboxRelay.drain();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(3L));
+        verify(outboxEventRepository, times(2)).findOldest(any(Pageable.class));
+    }
+
+    @Test
+    void givenSinkIsFull_whenDraining_thenEventsStayInOutbox() throws Exception {
+        when(outboxEventRepository.findOldest(any(Pageable.class))).thenReturn(List.of(event(1L), event(2L)));
+        when(outboxSink.deliver(anyList())).thenReturn(false);
+
+        outboxRelay.drain();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(outboxSink, times(1)).deliver(anyList());
+    }
+
+    @Test
+    void givenSinkFails_whenDraining_thenEventsAreRedeliveredOnNextRun() throws Exception {
+        List<List<TicketOutboxMessage>> deliveries = new ArrayList<>();
+        when(outboxEventRepository.findOldest(any(Pageable.class)))
+                .thenReturn(List.of(event(1L)))
+                .thenReturn(List.of(event(1L)));
+        when(outboxSink.deliver(anyList()))
+                .thenThrow(new IOException("disk full"))
+                .thenAnswer(invocation -> deliveries.add(invocation.getArgument(0)));
+
+        outboxRelay.drain();
+        outboxRelay.drain();
+
+        assertEquals(1, deliveries.size());
+        assertEquals(1L, deliveries.get(0).get(0).id());
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    private OutboxEvent event(Long id) {
+        OutboxEvent event = new OutboxEvent(10L + id, Status.NEW, Status.IN_PROGRESS, 1L, LocalDateTime.now());
+        event.setId(id);
+        return event;
+    }
+}
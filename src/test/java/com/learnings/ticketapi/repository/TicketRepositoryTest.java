@@ -1,25 +1,56 @@
 package com.learnings.ticketapi.repository;
 
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.config.JdbcMetricsConfig;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.metrics.SqlStatementCounter;
+import com.learnings.ticketapi.model.Agent;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
+@Import(JdbcMetricsConfig.class)
 @Sql({"/filterTestData.sql"})
 public class TicketRepositoryTest  {
 
+    private static final List<CapturedQuery> capturedQueries = new CopyOnWriteArrayList<>();
+
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @Sql({"/filterTestData.sql"})
     void givenStatus_whenGettingTickets_thenTicketsWithMatchingStatusAreReturned() {
@@ -92,6 +123,18 @@ public class TicketRepositoryTest  {
         }
     }
 
+    @Test
+    public void givenUnknownAgent_whenGettingTickets_thenNoTicketsAreReturned() {
+        List<Ticket> tickets = ticketRepository.findWithFilters(
+                null,
+                null,
+                null,
+                "Agent999"
+        );
+
+        assertTrue(tickets.isEmpty());
+    }
+
     @Test
     public void givenNoFilters_whenGettingTickets_thenAllTicketsAreReturned() {
         List<Ticket> tickets = ticketRepository.findWithFilters(
@@ -112,4 +155,357 @@ public class TicketRepositoryTest  {
 
         assertEquals(2, tickets.size());
     }
+
+    @Test
+    public void givenAgent_whenGettingTicketDtos_thenAgentNameIsProjected() {
+        String agentName = "Agent002";
+
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(
+                null,
+                null,
+                null,
+                agentName
+        );
+
+        assertEquals(2, tickets.size());
+        for(TicketDto ticket : tickets){
+            assertEquals(agentName, ticket.assignedAgent());
+        }
+    }
+
+    @Test
+    public void givenManyAssignedTickets_whenGettingTicketDtos_thenOneRoundTripIsMade() {
+        insertAssignedTickets(200);
+
+        SqlStatementCounter.reset();
+        List<TicketDto> tickets = ticketRepository.findDtosWithFilters(null, null, null, null);
+
+        assertEquals(205, tickets.size());
+        assertEquals(1, SqlStatementCounter.roundTrips());
+    }
+
+    @Test
+    public void givenManyAssignedTickets_whenGettingTicketDtosById_thenOneRoundTripIsMade() {
+        List<Long> ids = insertAssignedTickets(200);
+
+        SqlStatementCounter.reset();
+        List<TicketDto> tickets = ticketRepository.findDtosByIdIn(ids);
+
+        assertEquals(200, tickets.size());
+        assertEquals(1, SqlStatementCounter.roundTrips());
+    }
+
+    @Test
+    public void givenManyAssignedTickets_whenGettingTicketPage_thenOneRoundTripIsMade() {
+        insertAssignedTickets(200);
+
+        SqlStatementCounter.reset();
+        List<TicketDto> page = ticketRepository.findPageWithFilters(null, null, null, null, null, null, 100);
+
+        assertEquals(100, page.size());
+        assertEquals(1, SqlStatementCounter.roundTrips());
+    }
+
+    @Test
+    public void givenManyAssignedTickets_whenComputingStats_thenThreeRoundTripsAreMade() {
+        insertAssignedTickets(200);
+
+        SqlStatementCounter.reset();
+        TicketStatsDto stats = ticketRepository.computeStatsWithFilters(null, null, null, null, DateBucket.DAY);
+
+        assertEquals(205, stats.total());
+        assertEquals(3, SqlStatementCounter.roundTrips());
+    }
+
+    @Test
+    public void givenAgentFilterMissingTheQueryCache_whenComputingStats_thenTheLookupIsTheOnlyExtraRoundTrip() {
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        SqlStatementCounter.reset();
+        TicketStatsDto stats = ticketRepository.computeStatsWithFilters(null, null, null, "Agent002", DateBucket.DAY);
+
+        assertEquals(2, stats.total());
+        assertEquals(4, SqlStatementCounter.roundTrips());
+    }
+
+    @Test
+    public void givenPageLimit_whenGettingTicketPages_thenPagesFollowCreatedDateAndIdOrder() {
+        List<TicketDto> firstPage = ticketRepository.findPageWithFilters(
+                null, null, null, null, null, null, 2
+        );
+
+        assertEquals(2, firstPage.size());
+        assertEquals(1L, firstPage.get(0).id());
+        assertEquals(5L, firstPage.get(1).id());
+
+        TicketDto last = firstPage.get(1);
+        List<TicketDto> secondPage = ticketRepository.findPageWithFilters(
+                null, null, null, null, last.createdDate(), last.id(), 10
+        );
+
+        assertEquals(3, secondPage.size());
+        for(TicketDto ticket : secondPage) {
+            assertTrue(ticket.createdDate().isAfter(last.createdDate()));
+        }
+    }
+
+    @Test
+    public void givenNewTickets_whenInsertingInBatch_thenIdsAreAssignedAndTicketsPersisted() {
+        List<Ticket> newTickets = List.of(
+                new Ticket(null, "Batch 1", Status.NEW, LocalDateTime.now()),
+                new Ticket(null, "Batch 2", Status.NEW, LocalDateTime.now())
+        );
+
+        List<Ticket> savedTickets = ticketRepository.insertAll(newTickets);
+
+        for(Ticket ticket : savedTickets) {
+            assertNotNull(ticket.getId());
+            assertTrue(ticketRepository.findById(ticket.getId()).isPresent());
+        }
+    }
+
+    @Test
+    public void givenResolvedTicketsWithAndWithoutSummary_whenClosingInBulk_thenOnlyGuardedRowsAreUpdated() {
+        Ticket withSummary = ticketRepository.findById(4L).orElseThrow();
+        withSummary.setResolutionSummary("Fixed.");
+        ticketRepository.saveAndFlush(withSummary);
+
+        int updated = ticketRepository.closeByIdIn(List.of(1L, 4L, 5L), Status.RESOLVED, Status.CLOSED, LocalDateTime.now());
+
+        assertEquals(1, updated);
+        assertEquals(Status.CLOSED, ticketRepository.findById(4L).orElseThrow().getStatus());
+        assertEquals(Status.RESOLVED, ticketRepository.findById(5L).orElseThrow().getStatus());
+        assertEquals(Status.NEW, ticketRepository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void givenCurrentVersion_whenTransitioningTicket_thenStatusChangesAndVersionIsBumped() {
+        int updated = ticketRepository.updateStatusById(2L, Status.IN_PROGRESS, Status.RESOLVED, 0L);
+
+        Ticket ticket = ticketRepository.findById(2L).orElseThrow();
+        assertEquals(1, updated);
+        assertEquals(Status.RESOLVED, ticket.getStatus());
+        assertEquals(1L, ticket.getVersion());
+    }
+
+    @Test
+    public void givenStaleVersionOrStatus_whenTransitioningTicket_thenNoRowIsUpdated() {
+        assertEquals(0, ticketRepository.updateStatusById(2L, Status.IN_PROGRESS, Status.RESOLVED, 7L));
+        assertEquals(0, ticketRepository.updateStatusById(1L, Status.IN_PROGRESS, Status.RESOLVED, 0L));
+
+        assertEquals(Status.IN_PROGRESS, ticketRepository.findById(2L).orElseThrow().getStatus());
+        assertEquals(Status.NEW, ticketRepository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void givenTicketWrite_whenComputingFingerprint_thenTagChanges() {
+        String before = ticketRepository.computeFingerprintWithFilters(List.of(Status.NEW), null, null, null).tag();
+
+        ticketRepository.updateStatusById(1L, Status.NEW, Status.IN_PROGRESS, 0L);
+        String afterTransition = ticketRepository.computeFingerprintWithFilters(List.of(Status.NEW), null, null, null).tag();
+
+        assertEquals("2-4-0", before);
+        assertEquals("1-3-0", afterTransition);
+    }
+
+    @Test
+    public void givenNoMatchingTickets_whenComputingFingerprint_thenEmptyTagIsReturned() {
+        assertEquals("0-0-0", ticketRepository.computeFingerprintWithFilters(List.of(Status.CLOSED), null, null, null).tag());
+    }
+
+    @Test
+    public void givenSeededTickets_whenComputingStats_thenCountsAndMeanTimeToCloseAreAggregated() {
+        Ticket closedTicket = ticketRepository.findById(5L).orElseThrow();
+        closedTicket.setStatus(Status.CLOSED);
+        closedTicket.setClosedDate(closedTicket.getCreatedDate().plusHours(2));
+        ticketRepository.saveAndFlush(closedTicket);
+
+        TicketStatsDto stats = ticketRepository.computeStatsWithFilters(null, null, null, null, DateBucket.DAY);
+
+        assertEquals(5, stats.total());
+        assertEquals(2L, stats.byStatus().get(Status.NEW));
+        assertEquals(1L, stats.byStatus().get(Status.IN_PROGRESS));
+        assertEquals(1L, stats.byStatus().get(Status.RESOLVED));
+        assertEquals(1L, stats.byStatus().get(Status.CLOSED));
+        assertEquals(1L, stats.byAgent().get("Agent001"));
+        assertEquals(2L, stats.byAgent().get("Agent002"));
+        assertEquals(2, stats.unassigned());
+        assertEquals(1L, stats.byCreatedDate().get(LocalDateTime.of(2023, 1, 1, 0, 0)));
+        assertEquals(1L, stats.byCreatedDate().get(LocalDateTime.of(2023, 6, 1, 0, 0)));
+        assertEquals(7200.0, stats.meanTimeToCloseSeconds(), 1.0);
+    }
+
+    @Test
+    public void givenTicketsClosedBeforeCutoff_whenFindingArchivable_thenOnlyThoseAreReturnedWithTheirAgent() {
+        LocalDateTime longAgo = LocalDateTime.of(2023, 6, 2, 9, 0);
+        Ticket oldTicket = ticketRepository.findById(5L).orElseThrow();
+        oldTicket.setStatus(Status.CLOSED);
+        oldTicket.setClosedDate(longAgo);
+        Ticket recentTicket = ticketRepository.findById(4L).orElseThrow();
+        recentTicket.setStatus(Status.CLOSED);
+        recentTicket.setClosedDate(LocalDateTime.now());
+        ticketRepository.saveAllAndFlush(List.of(oldTicket, recentTicket));
+
+        List<ArchivedTicket> archivable = ticketRepository.findArchivable(Status.CLOSED, LocalDateTime.now().minusDays(30), PageRequest.of(0, 10));
+
+        assertEquals(1, archivable.size());
+        assertEquals(5L, archivable.get(0).id());
+        assertEquals("Agent002", archivable.get(0).assignedAgent());
+        assertEquals(longAgo, archivable.get(0).closedDate());
+        assertNotNull(archivable.get(0).version());
+    }
+
+    @Test
+    public void givenHourBucket_whenComputingStats_thenCreatedDatesAreGroupedByHour() {
+        TicketStatsDto stats = ticketRepository.computeStatsWithFilters(List.of(Status.NEW), null, LocalDateTime.of(2023, 6, 30, 0, 0), null, DateBucket.HOUR);
+
+        assertEquals(1, stats.total());
+        assertEquals(1L, stats.byCreatedDate().get(LocalDateTime.of(2023, 1, 1, 9, 0)));
+        assertNull(stats.meanTimeToCloseSeconds());
+    }
+
+    @Test
+    public void givenOnlyDescriptionChanged_whenFlushing_thenUpdateLeavesUnchangedColumnsOut() {
+        Ticket ticket = ticketRepository.findById(4L).orElseThrow();
+        ticket.setDescription("Printer still offline");
+
+        String update = capturedUpdate(ticket);
+
+        assertTrue(update.contains("description"), update);
+        assertTrue(update.contains("version"), update);
+        assertFalse(update.contains("resolution_summary"), update);
+        assertFalse(update.contains("status"), update);
+        assertFalse(update.contains("assigned_agent_id"), update);
+    }
+
+    @Test
+    public void givenOnlyResolutionSummaryChanged_whenFlushing_thenUpdateLeavesDescriptionOut() {
+        Ticket ticket = ticketRepository.findById(4L).orElseThrow();
+        ticket.setResolutionSummary("Replaced the toner");
+
+        String update = capturedUpdate(ticket);
+
+        assertTrue(update.contains("resolution_summary"), update);
+        assertFalse(update.contains("description"), update);
+    }
+
+    @Test
+    public void givenStatusAndDateRangeFilter_whenPlanningQuery_thenStatusCreatedDateIndexIsUsed() {
+        String plan = explainGenerated("from ticket", () -> ticketRepository.findWithFilters(
+                List.of(Status.NEW), LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 6, 30, 0, 0), null));
+
+        assertTrue(plan.contains("IDX_TICKET_STATUS_CREATED_DATE"), plan);
+    }
+
+    @Test
+    public void givenDateRangeFilter_whenPlanningQuery_thenCreatedDateIndexIsUsed() {
+        String plan = explainGenerated("from ticket", () -> ticketRepository.findDtosWithFilters(
+                null, LocalDateTime.of(2023, 1, 1, 0, 0), LocalDateTime.of(2023, 6, 30, 0, 0), null));
+
+        assertTrue(plan.contains("IDX_TICKET_CREATED_DATE_ID"), plan);
+    }
+
+    @Test
+    public void givenAgentAndStatusFilter_whenPlanningQuery_thenAgentStatusIndexIsUsed() {
+        String plan = explainGenerated("from ticket", () -> ticketRepository.findWithFilters(
+                List.of(Status.RESOLVED), null, null, "Agent002"));
+
+        assertTrue(plan.contains("IDX_TICKET_ASSIGNED_AGENT_STATUS"), plan);
+    }
+
+    @Test
+    public void givenAgentName_whenPlanningLookup_thenUniqueNameIndexIsUsed() {
+        // The lookup is query-cached, so it only reaches the database once the cache is empty.
+        entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        String plan = explainGenerated("from agent", () -> ticketRepository.findWithFilters(
+                null, null, null, "Agent002"));
+
+        assertTrue(plan.contains("UQ_AGENT_NAME"), plan);
+    }
+
+    /**
+     * Flushes the ticket and returns the UPDATE Hibernate sent for it, in lower case.
+     */
+    private String capturedUpdate(Ticket ticket) {
+        capturedQueries.clear();
+        ticketRepository.saveAndFlush(ticket);
+        return capturedQueries.stream()
+                .map(captured -> captured.sql().toLowerCase())
+                .filter(sql -> sql.startsWith("update ticket"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No ticket update in " + capturedQueries));
+    }
+
+    /**
+     * Runs the repository call, picks the last statement it sent whose SQL contains the given
+     * fragment and EXPLAINs it with the parameters Hibernate bound, so the plan is the one the
+     * real query gets rather than that of a hand-written equivalent.
+     */
+    private String explainGenerated(String sqlFragment, Runnable repositoryCall) {
+        capturedQueries.clear();
+        repositoryCall.run();
+        CapturedQuery query = capturedQueries.stream()
+                .filter(captured -> captured.sql().toLowerCase().contains(sqlFragment))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new AssertionError("No statement " + sqlFragment + " in " + capturedQueries));
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql())) {
+                for(ParameterSetOperation parameter : query.parameters()) {
+                    parameter.getMethod().invoke(explain, parameter.getArgs());
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            } catch (ReflectiveOperationException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+    }
+
+    private List<Long> insertAssignedTickets(int count) {
+        Agent agent = entityManager.find(Agent.class, 1L);
+        List<Ticket> tickets = new ArrayList<>();
+        for(int i = 0; i < count; i++) {
+            Ticket ticket = new Ticket(null, "Assigned " + i, Status.IN_PROGRESS, LocalDateTime.now());
+            ticket.setAssignedAgent(agent);
+            tickets.add(ticket);
+        }
+        return ticketRepository.insertAll(tickets).stream().map(Ticket::getId).toList();
+    }
+
+    record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {
+    }
+
+    /**
+     * Records the statements sent through the datasource proxy, with the parameters bound to
+     * each, for {@link #explainGenerated} and {@link #capturedUpdate}.
+     */
+    static class CapturingQueryListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for(QueryInfo queryInfo : queryInfoList) {
+                List<ParameterSetOperation> parameters = queryInfo.getParametersList().isEmpty()
+                        ? List.of()
+                        : List.copyOf(queryInfo.getParametersList().get(0));
+                capturedQueries.add(new CapturedQuery(queryInfo.getQuery(), parameters));
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class CapturingQueryListenerConfig {
+
+        @Bean
+        CapturingQueryListener capturingQueryListener() {
+            return new CapturingQueryListener();
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package com.learnings.ticketapi.search;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketSearchIndexTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2023, 6, 1, 9, 0);
+    private static final TicketFilterDto NO_FILTER = new TicketFilterDto(null, null, null, null);
+
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setup() throws Exception {
+        ticketSearchIndex = new TicketSearchIndex(ticketRepository, TransactionOperations.withoutTransaction(), "");
+        ticketSearchIndex.index(new TicketDto(1L, "VPN timeout when connecting from home", Status.NEW, CREATED_DATE, null, null, null));
+        ticketSearchIndex.index(new TicketDto(2L, "Printer offline", Status.RESOLVED, CREATED_DATE.plusDays(1), null, "Agent001", "VPN timeouts fixed by driver update"));
+        ticketSearchIndex.index(new TicketDto(3L, "VPN client crashes", Status.IN_PROGRESS, CREATED_DATE.plusDays(2), null, "Agent002", null));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ticketSearchIndex.destroy();
+    }
+
+    @Test
+    void givenWords_whenSearching_thenTicketsMatchingAllWordsAreRankedByField() {
+        List<Long> ticketIds = ticketSearchIndex.search("vpn timeout", NO_FILTER, 0, 10).ticketIds();
+
+        assertEquals(List.of(1L, 2L), ticketIds);
+    }
+
+    @Test
+    void givenFilter_whenSearching_thenOnlyMatchingTicketsAreReturned() {
+        TicketFilterDto filter = new TicketFilterDto(List.of(Status.IN_PROGRESS, Status.RESOLVED), null, CREATED_DATE.plusDays(1), null);
+
+        assertEquals(List.of(2L), ticketSearchIndex.search("vpn", filter, 0, 10).ticketIds());
+    }
+
+    @Test
+    void givenUpdatedTicket_whenSearching_thenIndexReflectsLatestState() {
+        ticketSearchIndex.index(new TicketDto(1L, "Password reset", Status.NEW, CREATED_DATE, null, null, null));
+
+        assertEquals(List.of(2L), ticketSearchIndex.search("timeout", NO_FILTER, 0, 10).ticketIds());
+        assertEquals(List.of(1L), ticketSearchIndex.search("password", NO_FILTER, 0, 10).ticketIds());
+    }
+
+    @Test
+    void givenChangesHeardOutOfOrder_whenIndexing_thenTheOlderOneIsIgnored() {
+        ticketSearchIndex.onTicketChanged(changed(new TicketDto(1L, "Password reset", Status.NEW, CREATED_DATE, null, null, null), 2L));
+        ticketSearchIndex.onTicketChanged(changed(new TicketDto(1L, "Printer jam", Status.NEW, CREATED_DATE, null, null, null), 1L));
+
+        assertEquals(List.of(1L), ticketSearchIndex.search("password", NO_FILTER, 0, 10).ticketIds());
+        assertEquals(List.of(), ticketSearchIndex.search("jam", NO_FILTER, 0, 10).ticketIds());
+    }
+
+    @Test
+    void givenTicketChangesWhileIndexIsRebuilt_whenRebuilt_thenTheSnapshotDoesNotOverwriteIt() {
+        when(ticketRepository.streamWithFilters(null, null, null, null)).thenAnswer(invocation -> {
+            // Commits after the snapshot read ticket 1, but before it is indexed.
+            ticketSearchIndex.onTicketChanged(changed(new TicketDto(1L, "Password reset", Status.NEW, CREATED_DATE, null, null, null), 1L));
+            return Stream.of(
+                    new TicketDto(1L, "VPN timeout when connecting from home", Status.NEW, CREATED_DATE, null, null, null),
+                    new TicketDto(2L, "Printer offline", Status.RESOLVED, CREATED_DATE.plusDays(1), null, "Agent001", "VPN timeouts fixed by driver update"));
+        });
+
+        ticketSearchIndex.rebuild();
+
+        assertEquals(List.of(1L), ticketSearchIndex.search("password", NO_FILTER, 0, 10).ticketIds());
+        assertEquals(List.of(2L), ticketSearchIndex.search("timeout", NO_FILTER, 0, 10).ticketIds());
+        assertEquals(List.of(), ticketSearchIndex.search("crashes", NO_FILTER, 0, 10).ticketIds());
+    }
+
+    @Test
+    void givenArchivedTickets_whenSearching_thenTheyAreNoLongerReturned() {
+        ticketSearchIndex.onTicketsArchived(new TicketsArchivedEvent(List.of(2L), List.of()));
+
+        assertEquals(List.of(1L), ticketSearchIndex.search("vpn timeout", NO_FILTER, 0, 10).ticketIds());
+    }
+
+    @Test
+    void givenOffset_whenSearching_thenLaterResultsAreReturned() {
+        assertEquals(List.of(3L), ticketSearchIndex.search("vpn", new TicketFilterDto(null, null, null, "Agent002"), 0, 10).ticketIds());
+        assertEquals(1, ticketSearchIndex.search("vpn", NO_FILTER, 2, 10).ticketIds().size());
+    }
+
+    private static TicketChangedEvent changed(TicketDto ticket, long version) {
+        return new TicketChangedEvent(ticket.id(), ticket.status(), ticket.status(), null, null, CREATED_DATE, ticket, version);
+    }
+}
@@ -0,0 +1,190 @@
+package com.learnings.ticketapi.service;
+
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.archive.TicketArchive;
+import com.learnings.ticketapi.config.CacheConfig;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.exception.*;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.ReactiveTicketRepository;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import com.learnings.ticketapi.service.impl.ReactiveTicketServiceImpl;
+import com.learnings.ticketapi.service.impl.TicketServiceImpl;
+import com.learnings.ticketapi.util.ErrorMessages;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTicketServiceTest {
+
+    private ReactiveTicketService reactiveTicketService;
+
+    @Mock
+    private ReactiveTicketRepository ticketRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private TicketArchive ticketArchive;
+
+    @BeforeEach
+    void setUp() {
+        reactiveTicketService = new ReactiveTicketServiceImpl(ticketRepository, transactionalOperator, eventPublisher, cacheManager, ticketArchive);
+    }
+
+    @Test
+    void givenTicketInProgress_whenResolvingTicket_thenOutboxIsWrittenAndChangeIsPublished() {
+        runTransactionsInline();
+        when(cacheManager.getCache(CacheConfig.TICKETS_CACHE)).thenReturn(cache);
+        when(ticketRepository.findVersionedById(1L)).thenReturn(Mono.just(versioned(Status.IN_PROGRESS, "Agent001", 2L, 3L)));
+        when(ticketRepository.updateStatusById(1L, Status.IN_PROGRESS, Status.RESOLVED, 3L)).thenReturn(Mono.just(1L));
+        when(ticketRepository.insertOutboxEvent(eq(1L), eq(Status.IN_PROGRESS), eq(Status.RESOLVED), eq(2L), any(LocalDateTime.class)))
+                .thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveTicketService.resolveTicket(1L))
+                .assertNext(ticket -> {
+                    assertEquals(Status.RESOLVED, ticket.status());
+                    assertEquals("Agent001", ticket.assignedAgent());
+                })
+                .verifyComplete();
+
+        ArgumentCaptor<TicketChangedEvent> event = ArgumentCaptor.forClass(TicketChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Status.IN_PROGRESS, event.getValue().previousStatus());
+        assertEquals(Status.RESOLVED, event.getValue().status());
+        verify(cache).evict(1L);
+    }
+
+    @Test
+    void givenConcurrentWriterKeepsWinning_whenResolvingTicket_thenConflictIsReturnedAfterMaxAttempts() {
+        runTransactionsInline();
+        when(ticketRepository.findVersionedById(1L)).thenReturn(Mono.just(versioned(Status.IN_PROGRESS, "Agent001", 2L, 3L)));
+        when(ticketRepository.updateStatusById(1L, Status.IN_PROGRESS, Status.RESOLVED, 3L)).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(reactiveTicketService.resolveTicket(1L))
+                .expectErrorSatisfies(ex -> {
+                    assertEquals(TicketConflictException.class, ex.getClass());
+                    assertEquals(ErrorMessages.TICKET_CONFLICT, ex.getMessage());
+                })
+                .verify();
+
+        verify(ticketRepository, times(TicketServiceImpl.MAX_WRITE_ATTEMPTS)).updateStatusById(1L, Status.IN_PROGRESS, Status.RESOLVED, 3L);
+        verify(ticketRepository, never()).insertOutboxEvent(any(), any(), any(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenNewTicketAndUnknownAgent_whenAssigningAgent_thenAgentNotFoundIsReturned() {
+        runTransactionsInline();
+        when(ticketRepository.findVersionedById(1L)).thenReturn(Mono.just(versioned(Status.NEW, null, null, 0L)));
+        when(ticketRepository.findAgentNameById(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(reactiveTicketService.assignAgentToTicket(1L, 9L))
+                .expectError(AgentNotFoundException.class)
+                .verify();
+
+        verify(ticketRepository, never()).assignAgentById(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void givenResolvedTicketWithoutSummary_whenClosingTicket_thenMissingResolutionSummaryIsReturned() {
+        runTransactionsInline();
+        when(ticketRepository.findVersionedById(1L)).thenReturn(Mono.just(versioned(Status.RESOLVED, "Agent001", 2L, 4L)));
+
+        StepVerifier.create(reactiveTicketService.closeTicket(1L))
+                .expectError(MissingResolutionSummaryException.class)
+                .verify();
+    }
+
+    @Test
+    void givenTicketOnlyInArchive_whenGettingTicketById_thenArchivedTicketIsReturned() {
+        LocalDateTime createdDate = LocalDateTime.of(2023, 1, 1, 9, 0);
+        when(ticketRepository.findDtoById(7L)).thenReturn(Mono.empty());
+        when(ticketArchive.findById(7L)).thenReturn(Optional.of(
+                new ArchivedTicket(7L, "Archived", createdDate, createdDate.plusDays(1), null, "Done", 3L)));
+
+        StepVerifier.create(reactiveTicketService.getTicketById(7L))
+                .assertNext(ticket -> assertEquals(Status.CLOSED, ticket.status()))
+                .verifyComplete();
+    }
+
+    @Test
+    void givenUnknownTicket_whenGettingTicketById_thenTicketNotFoundIsReturned() {
+        when(ticketRepository.findDtoById(7L)).thenReturn(Mono.empty());
+        when(ticketArchive.findById(7L)).thenReturn(Optional.empty());
+
+        StepVerifier.create(reactiveTicketService.getTicketById(7L))
+                .expectError(TicketNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void givenTableAndArchivedTickets_whenGettingTickets_thenTheyAreMergedInCreatedOrderWithoutDuplicates() {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 9, 0);
+        TicketDto archivedOnly = new TicketDto(1L, "Old", Status.CLOSED, now.minusDays(90), now.minusDays(80), null, "Done");
+        TicketDto inBoth = new TicketDto(2L, "Moving", Status.CLOSED, now.minusDays(60), now.minusDays(50), null, "Done");
+        TicketDto tableOnly = new TicketDto(3L, "Open", Status.NEW, now, null, null, null);
+        TicketFilterDto filter = new TicketFilterDto(null, null, null, null);
+        when(ticketRepository.findDtosWithFilters(null, null, null, null)).thenReturn(Flux.just(inBoth, tableOnly));
+        when(ticketArchive.find(filter)).thenReturn(List.of(archivedOnly, inBoth));
+
+        StepVerifier.create(reactiveTicketService.getTickets(filter))
+                .expectNext(archivedOnly, inBoth, tableOnly)
+                .verifyComplete();
+    }
+
+    @Test
+    void givenOpenStatusFilter_whenGettingTickets_thenArchiveIsNotRead() {
+        TicketDto ticket = new TicketDto(3L, "Open", Status.NEW, LocalDateTime.now(), null, null, null);
+        TicketFilterDto filter = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        when(ticketRepository.findDtosWithFilters(List.of(Status.NEW), null, null, null)).thenReturn(Flux.just(ticket));
+
+        StepVerifier.create(reactiveTicketService.getTickets(filter))
+                .expectNext(ticket)
+                .verifyComplete();
+
+        verifyNoInteractions(ticketArchive);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static VersionedTicketView versioned(Status status, String agentName, Long agentId, Long version) {
+        TicketDto ticket = new TicketDto(1L, "Ticket", status, LocalDateTime.of(2024, 1, 1, 9, 0), null, agentName, null);
+        return new VersionedTicketView(ticket, agentId, version);
+    }
+}
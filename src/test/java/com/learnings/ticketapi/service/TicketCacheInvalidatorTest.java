@@ -0,0 +1,86 @@
+package com.learnings.ticketapi.service;
+
+import com.learnings.ticketapi.config.CacheConfig;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.service.impl.TicketCacheInvalidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TicketCacheInvalidatorTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final TicketDto NEW_TICKET = new TicketDto(1L, "Printer jams", Status.NEW, CREATED, null, null, null);
+    private static final TicketDto ASSIGNED_TICKET = new TicketDto(1L, "Printer jams", Status.IN_PROGRESS, CREATED, null, "Agent001", null);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private Cache ticketsCache;
+    private TicketCacheInvalidator ticketCacheInvalidator;
+
+    @BeforeEach
+    void setup() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.TICKETS_CACHE);
+        cacheManager.setTransactionAware(true);
+        ticketsCache = cacheManager.getCache(CacheConfig.TICKETS_CACHE);
+        ticketCacheInvalidator = new TicketCacheInvalidator(cacheManager);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void givenReaderLoadedRowBeforeCommit_whenWriterEvictsAfterCommit_thenStaleReadIsNotLeftInCache() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+
+        // The reader has read the row as it was before the writer's commit and is about to cache it.
+        Future<TicketDto> reader = executor.submit(() -> ticketsCache.get(1L, () -> {
+            loading.countDown();
+            committed.await();
+            return NEW_TICKET;
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        Future<?> writer = executor.submit(() -> ticketCacheInvalidator.onTicketChanged(assigned()));
+        assertThrows(TimeoutException.class, () -> writer.get(200, TimeUnit.MILLISECONDS));
+
+        committed.countDown();
+        assertEquals(NEW_TICKET, reader.get(5, TimeUnit.SECONDS));
+        writer.get(5, TimeUnit.SECONDS);
+
+        assertNull(ticketsCache.get(1L));
+        assertEquals(ASSIGNED_TICKET, ticketsCache.get(1L, () -> ASSIGNED_TICKET));
+    }
+
+    @Test
+    void givenCachedTicket_whenChangeCommits_thenItIsEvictedAndReloaded() {
+        ticketsCache.put(1L, NEW_TICKET);
+
+        ticketCacheInvalidator.onTicketChanged(assigned());
+
+        assertNull(ticketsCache.get(1L));
+    }
+
+    private static TicketChangedEvent assigned() {
+        return new TicketChangedEvent(1L, Status.NEW, Status.IN_PROGRESS, null, 1L, CREATED, ASSIGNED_TICKET, 1L);
+    }
+}
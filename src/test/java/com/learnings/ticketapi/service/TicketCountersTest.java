@@ -0,0 +1,97 @@
+package com.learnings.ticketapi.service;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.event.TicketsArchivedEvent;
+import com.learnings.ticketapi.model.Status;
+import com.learnings.ticketapi.repository.TicketRepository;
+import com.learnings.ticketapi.repository.projection.TicketCountView;
+import com.learnings.ticketapi.service.impl.TicketCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class TicketCountersTest {
+
+    private static final LocalDateTime CREATED_DATE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private TicketCounters ticketCounters;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @BeforeEach
+    void setup() {
+        ticketCounters = new TicketCounters(ticketRepository);
+    }
+
+    @Test
+    void givenReconciledCounts_whenTicketIsAssigned_thenItMovesBetweenCounters() {
+        when(ticketRepository.countByStatusAndAgent()).thenReturn(List.of(new TicketCountView(Status.NEW, null, 2L)));
+        ticketCounters.reconcile();
+
+        ticketCounters.onTicketChanged(event(Status.NEW, null, Status.IN_PROGRESS, 7L));
+
+        assertEquals(1, ticketCounters.count(Status.NEW));
+        assertEquals(1, ticketCounters.count(Status.IN_PROGRESS, 7L));
+    }
+
+    @Test
+    void givenClosedTickets_whenTheyAreArchived_thenTheyLeaveTheCounts() {
+        when(ticketRepository.countByStatusAndAgent()).thenReturn(List.of(
+                new TicketCountView(Status.CLOSED, 7L, 3L),
+                new TicketCountView(Status.CLOSED, null, 1L)));
+        ticketCounters.reconcile();
+
+        ticketCounters.onTicketsArchived(new TicketsArchivedEvent(List.of(1L, 2L, 3L), List.of(
+                new TicketCountView(Status.CLOSED, 7L, 2L),
+                new TicketCountView(Status.CLOSED, null, 1L))));
+
+        assertEquals(1, ticketCounters.count(Status.CLOSED));
+        assertEquals(1, ticketCounters.count(Status.CLOSED, 7L));
+        assertEquals(0, ticketCounters.count(Status.CLOSED, null));
+    }
+
+    @Test
+    void givenTicketChangesWhileCountsAreRebuilt_whenReconciled_thenTheChangeIsKept() {
+        when(ticketRepository.countByStatusAndAgent()).thenAnswer(invocation -> {
+            // Commits after the GROUP BY read its rows, but before the swap.
+            ticketCounters.onTicketChanged(event(Status.NEW, null, Status.IN_PROGRESS, 7L));
+            return List.of(new TicketCountView(Status.NEW, null, 2L));
+        });
+
+        ticketCounters.reconcile();
+
+        assertEquals(1, ticketCounters.count(Status.NEW));
+        assertEquals(1, ticketCounters.count(Status.IN_PROGRESS, 7L));
+    }
+
+    @Test
+    void givenRebuildFails_whenReconciling_thenCountsAreKeptAndChangesStillApply() {
+        when(ticketRepository.countByStatusAndAgent())
+                .thenReturn(List.of(new TicketCountView(Status.NEW, null, 2L)))
+                .thenThrow(new IllegalStateException("connection refused"));
+        ticketCounters.reconcile();
+
+        assertThrows(IllegalStateException.class, () -> ticketCounters.reconcile());
+        ticketCounters.onTicketChanged(event(Status.NEW, null, Status.IN_PROGRESS, 7L));
+
+        assertEquals(1, ticketCounters.count(Status.NEW));
+        assertEquals(1, ticketCounters.count(Status.IN_PROGRESS, 7L));
+    }
+
+    private static TicketChangedEvent event(Status previousStatus, Long previousAgentId, Status status, Long agentId) {
+        TicketDto ticket = new TicketDto(1L, "Ticket", status, CREATED_DATE, null, null, null);
+        return new TicketChangedEvent(1L, previousStatus, status, previousAgentId, agentId, CREATED_DATE, ticket, 1L);
+    }
+}
@@ -1,23 +1,58 @@
 package com.learnings.ticketapi.service;
 
+import com.learnings.ticketapi.archive.ArchivedTicket;
+import com.learnings.ticketapi.archive.TicketArchive;
+import com.learnings.ticketapi.duplicate.BatchDuplicate;
+import com.learnings.ticketapi.duplicate.DuplicateMode;
+import com.learnings.ticketapi.duplicate.DuplicateTicketDetector;
+import com.learnings.ticketapi.dto.BulkTicketRequestDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto;
+import com.learnings.ticketapi.dto.BulkTransitionResultDto.Outcome;
+import com.learnings.ticketapi.dto.DateBucket;
+import com.learnings.ticketapi.dto.TicketBacklogDto;
+import com.learnings.ticketapi.dto.TicketBatchResultDto;
+import com.learnings.ticketapi.dto.TicketCreationDto;
 import com.learnings.ticketapi.dto.TicketDto;
 import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.dto.TicketPageDto;
+import com.learnings.ticketapi.dto.TicketSearchPageDto;
+import com.learnings.ticketapi.dto.TicketStatsDto;
+import com.learnings.ticketapi.dto.VersionedTicketDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
 import com.learnings.ticketapi.exception.*;
+import com.learnings.ticketapi.metrics.TicketMetrics;
 import com.learnings.ticketapi.model.Agent;
 import com.learnings.ticketapi.model.Status;
 import com.learnings.ticketapi.model.Ticket;
 import com.learnings.ticketapi.repository.AgentRepository;
 import com.learnings.ticketapi.repository.TicketRepository;
+import com.learnings.ticketapi.repository.projection.TicketListFingerprint;
+import com.learnings.ticketapi.repository.projection.TicketStateView;
+import com.learnings.ticketapi.repository.projection.VersionedTicketView;
+import com.learnings.ticketapi.search.TicketSearchHits;
+import com.learnings.ticketapi.search.TicketSearchIndex;
+import com.learnings.ticketapi.service.impl.TicketCounters;
 import com.learnings.ticketapi.service.impl.TicketServiceImpl;
+import com.learnings.ticketapi.util.ErrorMessages;
+import com.learnings.ticketapi.util.TicketCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -34,9 +69,29 @@ public class TicketServiceTest {
     @Mock
     private AgentRepository agentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TicketCounters ticketCounters;
+
+    @Mock
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Mock
+    private DuplicateTicketDetector duplicateTicketDetector;
+
+    @Mock
+    private TicketArchive ticketArchive;
+
+    @Mock
+    private TicketMetrics ticketMetrics;
+
     @BeforeEach
     void setup() {
-        ticketService = new TicketServiceImpl(ticketRepository, agentRepository);
+        ticketService = new TicketServiceImpl(ticketRepository, agentRepository, eventPublisher, ticketCounters,
+                TransactionOperations.withoutTransaction(), ticketSearchIndex, duplicateTicketDetector, ticketArchive,
+                ticketMetrics);
     }
 
     @Test
@@ -57,13 +112,66 @@ public class TicketServiceTest {
         Ticket savedTicket = new Ticket(1L, ticketDescription, Status.NEW, LocalDateTime.now());
         when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
 
-        TicketDto createdTicket = ticketService.createTicket(ticketDto);
+        TicketDto createdTicket = ticketService.createTicket(ticketDto).ticket();
 
         assertNotNull(createdTicket);
         assertEquals(Status.NEW , createdTicket.status());
         assertNotNull(createdTicket.createdDate());
     }
 
+    @Test
+    void givenDuplicateOfOpenTicket_whenTicketIsCreatedInLinkMode_thenTicketIsCreatedWithLink() {
+        TicketDto ticketDto = new TicketDto(null, "VPN is down", null, null, null, null, null);
+        when(duplicateTicketDetector.findDuplicateOf("VPN is down")).thenReturn(OptionalLong.of(7L));
+        when(duplicateTicketDetector.mode()).thenReturn(DuplicateMode.LINK);
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            ticket.setId(8L);
+            return ticket;
+        });
+
+        TicketCreationDto creation = ticketService.createTicket(ticketDto);
+
+        ArgumentCaptor<Ticket> savedTicket = ArgumentCaptor.forClass(Ticket.class);
+        verify(ticketRepository).save(savedTicket.capture());
+        assertEquals(7L, savedTicket.getValue().getDuplicateOfId());
+        assertEquals(8L, creation.ticket().id());
+        assertEquals(7L, creation.duplicateOfId());
+        assertFalse(creation.merged());
+    }
+
+    @Test
+    void givenDuplicateOfOpenTicket_whenTicketIsCreatedInMergeMode_thenCanonicalTicketIsReturned() {
+        TicketDto ticketDto = new TicketDto(null, "VPN is down", null, null, null, null, null);
+        Ticket canonicalTicket = new Ticket(7L, "VPN is down!", Status.IN_PROGRESS, LocalDateTime.now());
+        when(duplicateTicketDetector.findDuplicateOf("VPN is down")).thenReturn(OptionalLong.of(7L));
+        when(duplicateTicketDetector.mode()).thenReturn(DuplicateMode.MERGE);
+        when(ticketRepository.findById(7L)).thenReturn(Optional.of(canonicalTicket));
+
+        TicketCreationDto creation = ticketService.createTicket(ticketDto);
+
+        assertTrue(creation.merged());
+        assertEquals(7L, creation.ticket().id());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenDuplicateOfTicketClosedSinceIndexed_whenTicketIsCreatedInMergeMode_thenNewTicketIsCreated() {
+        TicketDto ticketDto = new TicketDto(null, "VPN is down", null, null, null, null, null);
+        Ticket closedTicket = new Ticket(7L, "VPN is down!", Status.CLOSED, LocalDateTime.now());
+        when(duplicateTicketDetector.findDuplicateOf("VPN is down")).thenReturn(OptionalLong.of(7L));
+        when(duplicateTicketDetector.mode()).thenReturn(DuplicateMode.MERGE);
+        when(ticketRepository.findById(7L)).thenReturn(Optional.of(closedTicket));
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketCreationDto creation = ticketService.createTicket(ticketDto);
+
+        assertFalse(creation.merged());
+        assertNull(creation.duplicateOfId());
+        assertEquals(Status.NEW, creation.ticket().status());
+    }
+
     @Test
     void givenTicketWithoutDescription_whenTicketIsCreated_thenThrowException() {
         TicketDto ticketDto = new TicketDto(null,
@@ -77,26 +185,191 @@ public class TicketServiceTest {
         assertThrows(MissingDescriptionException.class, () -> ticketService.createTicket(ticketDto));
     }
 
+    @Test
+    void givenTicketBatch_whenTicketsAreCreated_thenValidTicketsAreInsertedAndInvalidOnesReported() {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "first", null, null, null, null, null),
+                new TicketDto(null, "", null, null, null, null, null),
+                new TicketDto(null, "third", null, null, null, null, null)
+        );
+        when(duplicateTicketDetector.findDuplicatesOf(List.of("first", "third"))).thenReturn(Arrays.asList(null, null));
+        when(ticketRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            for(int i = 0; i < tickets.size(); i++) {
+                tickets.get(i).setId(i + 1L);
+            }
+            return tickets;
+        });
+
+        List<TicketBatchResultDto> results = ticketService.createTickets(ticketDtos);
+
+        assertEquals(3, results.size());
+        assertEquals(1L, results.get(0).ticket().id());
+        assertEquals(Status.NEW, results.get(0).ticket().status());
+        assertNull(results.get(1).ticket());
+        assertEquals(ErrorMessages.DESCRIPTION_REQUIRED, results.get(1).error());
+        assertEquals(2L, results.get(2).ticket().id());
+        assertEquals(2, results.get(2).index());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void givenDuplicatesInBatch_whenTicketsAreCreatedInLinkMode_thenTheyLinkToOpenAndEarlierBatchTickets() {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "VPN is down", null, null, null, null, null),
+                new TicketDto(null, "Printer jammed", null, null, null, null, null),
+                new TicketDto(null, "printer jammed!", null, null, null, null, null)
+        );
+        when(duplicateTicketDetector.findDuplicatesOf(List.of("VPN is down", "Printer jammed", "printer jammed!")))
+                .thenReturn(Arrays.asList(BatchDuplicate.ofTicket(7L), null, BatchDuplicate.ofEarlier(1)));
+        when(duplicateTicketDetector.mode()).thenReturn(DuplicateMode.LINK);
+        AtomicLong nextId = new AtomicLong(10L);
+        when(ticketRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            tickets.forEach(ticket -> ticket.setId(nextId.getAndIncrement()));
+            return tickets;
+        });
+
+        List<TicketBatchResultDto> results = ticketService.createTickets(ticketDtos);
+
+        assertEquals(7L, results.get(0).duplicateOfId());
+        assertNull(results.get(1).duplicateOfId());
+        assertEquals(results.get(1).ticket().id(), results.get(2).duplicateOfId());
+        assertFalse(results.get(2).merged());
+        verify(ticketRepository, times(2)).insertAll(anyList());
+        verify(eventPublisher, times(3)).publishEvent(any(TicketChangedEvent.class));
+    }
+
+    @Test
+    void givenDuplicatesInBatch_whenTicketsAreCreatedInMergeMode_thenOnlyNewProblemsAreCreated() {
+        List<TicketDto> ticketDtos = List.of(
+                new TicketDto(null, "VPN is down", null, null, null, null, null),
+                new TicketDto(null, "Printer jammed", null, null, null, null, null),
+                new TicketDto(null, "printer jammed!", null, null, null, null, null)
+        );
+        when(duplicateTicketDetector.findDuplicatesOf(List.of("VPN is down", "Printer jammed", "printer jammed!")))
+                .thenReturn(Arrays.asList(BatchDuplicate.ofTicket(7L), null, BatchDuplicate.ofEarlier(1)));
+        when(duplicateTicketDetector.mode()).thenReturn(DuplicateMode.MERGE);
+        when(ticketRepository.findDtosByIdIn(Set.of(7L))).thenReturn(List.of(
+                new TicketDto(7L, "VPN is down!", Status.IN_PROGRESS, LocalDateTime.now(), null, "Agent001", null)));
+        when(ticketRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            tickets.forEach(ticket -> ticket.setId(10L));
+            return tickets;
+        });
+
+        List<TicketBatchResultDto> results = ticketService.createTickets(ticketDtos);
+
+        assertTrue(results.get(0).merged());
+        assertEquals(7L, results.get(0).ticket().id());
+        assertFalse(results.get(1).merged());
+        assertEquals(10L, results.get(1).ticket().id());
+        assertTrue(results.get(2).merged());
+        assertEquals(10L, results.get(2).ticket().id());
+        verify(ticketRepository, times(1)).insertAll(anyList());
+        verify(eventPublisher, times(1)).publishEvent(any(TicketChangedEvent.class));
+    }
+
     @Test
     void givenNewTicket_whenAssigningAgent_thenStatusIsInProgress() {
         Long ticketId = 1L;
         Long agentId = 1L;
         String description = "description";
         Ticket ticket = new Ticket(ticketId, description, Status.NEW, LocalDateTime.now());
+        ticket.setVersion(0L);
 
         Agent agent = new Agent(agentId, "Agent001");
-        Ticket savedTicket = new Ticket(ticketId, description, Status.IN_PROGRESS, LocalDateTime.now());
-        savedTicket.setAssignedAgent(agent);
 
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
         when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.assignAgentById(ticketId, agent, Status.NEW, Status.IN_PROGRESS, 0L)).thenReturn(1);
 
         TicketDto updatedTicket = ticketService.assignAgentToTicket(ticketId, agentId);
 
         assertEquals(ticketId, updatedTicket.id());
-        assertEquals(agentId, agent.getId());
+        assertEquals("Agent001", updatedTicket.assignedAgent());
+        assertEquals(Status.IN_PROGRESS, updatedTicket.status());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+    }
+
+    @Test
+    void givenConcurrentEdit_whenAssigningAgent_thenTransitionIsRetriedAgainstFreshVersion() {
+        Long ticketId = 1L;
+        Long agentId = 1L;
+        Ticket staleTicket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        staleTicket.setVersion(0L);
+        Ticket freshTicket = new Ticket(ticketId, "edited description", Status.NEW, LocalDateTime.now());
+        freshTicket.setVersion(1L);
+        Agent agent = new Agent(agentId, "Agent001");
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(staleTicket), Optional.of(freshTicket));
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assignAgentById(ticketId, agent, Status.NEW, Status.IN_PROGRESS, 0L)).thenReturn(0);
+        when(ticketRepository.assignAgentById(ticketId, agent, Status.NEW, Status.IN_PROGRESS, 1L)).thenReturn(1);
+
+        TicketDto updatedTicket = ticketService.assignAgentToTicket(ticketId, agentId);
+
         assertEquals(Status.IN_PROGRESS, updatedTicket.status());
+        assertEquals("edited description", updatedTicket.description());
+        verify(eventPublisher, times(1)).publishEvent(any(TicketChangedEvent.class));
+    }
+
+    @Test
+    void givenTicketAlreadyTransitionedConcurrently_whenAssigningAgent_thenThrowException() {
+        Long ticketId = 1L;
+        Long agentId = 1L;
+        Ticket staleTicket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        staleTicket.setVersion(0L);
+        Ticket assignedTicket = new Ticket(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        assignedTicket.setVersion(1L);
+        Agent agent = new Agent(agentId, "Agent001");
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(staleTicket), Optional.of(assignedTicket));
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assignAgentById(ticketId, agent, Status.NEW, Status.IN_PROGRESS, 0L)).thenReturn(0);
+
+        assertThrows(InvalidTicketStateException.class,
+                () -> ticketService.assignAgentToTicket(ticketId, agentId));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenPersistentContention_whenResolving_thenThrowConflictAfterMaxAttempts() {
+        Long ticketId = 1L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.IN_PROGRESS, LocalDateTime.now());
+        ticket.setVersion(0L);
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.updateStatusById(ticketId, Status.IN_PROGRESS, Status.RESOLVED, 0L)).thenReturn(0);
+
+        assertThrows(TicketConflictException.class,
+                () -> ticketService.resolveTicket(ticketId));
+        verify(ticketRepository, times(TicketServiceImpl.MAX_WRITE_ATTEMPTS)).updateStatusById(ticketId, Status.IN_PROGRESS, Status.RESOLVED, 0L);
+    }
+
+    @Test
+    void givenNewTicket_whenAssigningAgent_thenTransitionEventIsPublished() {
+        Long ticketId = 1L;
+        Long agentId = 7L;
+        Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        ticket.setVersion(0L);
+        Agent agent = new Agent(agentId, "Agent007");
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assignAgentById(ticketId, agent, Status.NEW, Status.IN_PROGRESS, 0L)).thenReturn(1);
+
+        ticketService.assignAgentToTicket(ticketId, agentId);
+
+        ArgumentCaptor<TicketChangedEvent> captor = ArgumentCaptor.forClass(TicketChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        TicketChangedEvent event = captor.getValue();
+        assertEquals(ticketId, event.ticketId());
+        assertEquals(Status.NEW, event.previousStatus());
+        assertEquals(Status.IN_PROGRESS, event.status());
+        assertNull(event.previousAgentId());
+        assertEquals(agentId, event.agentId());
+        assertEquals(1L, event.version());
     }
 
     @Test
@@ -142,10 +415,10 @@ public class TicketServiceTest {
         Long ticketId = 1L;
         String description = "description";
         Ticket ticket = new Ticket(ticketId, description, Status.IN_PROGRESS, LocalDateTime.now());
-        Ticket savedTicket = new Ticket(ticketId, description, Status.RESOLVED, LocalDateTime.now());
+        ticket.setVersion(0L);
 
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.updateStatusById(ticketId, Status.IN_PROGRESS, Status.RESOLVED, 0L)).thenReturn(1);
 
         TicketDto updatedTicket = ticketService.resolveTicket(ticketId);
 
@@ -182,13 +455,10 @@ public class TicketServiceTest {
         String resolutionSummary = "Summary.";
         Ticket ticket = new Ticket(ticketId, description, Status.RESOLVED, LocalDateTime.now());
         ticket.setResolutionSummary(resolutionSummary);
-
-        Ticket savedTicket = new Ticket(ticketId, description, Status.CLOSED, LocalDateTime.now());
-        savedTicket.setResolutionSummary(resolutionSummary);
-        savedTicket.setClosedDate(LocalDateTime.now());
+        ticket.setVersion(0L);
 
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.closeById(eq(ticketId), eq(Status.RESOLVED), eq(Status.CLOSED), any(LocalDateTime.class), eq(0L))).thenReturn(1);
 
         TicketDto updatedTicket = ticketService.closeTicket(ticketId);
 
@@ -230,6 +500,96 @@ public class TicketServiceTest {
                 () -> ticketService.closeTicket(ticketId));
     }
 
+    @Test
+    void givenMixedTickets_whenClosingInBulk_thenOnlyEligibleTicketsAreClosed() {
+        BulkTicketRequestDto request = new BulkTicketRequestDto(List.of(1L, 2L, 3L, 4L), null);
+        when(ticketRepository.findStatesByIdIn(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                new TicketStateView(1L, Status.RESOLVED, 1L, true, 2L),
+                new TicketStateView(2L, Status.RESOLVED, 1L, false, 2L),
+                new TicketStateView(3L, Status.IN_PROGRESS, 1L, true, 1L)
+        ));
+        when(ticketRepository.closeByIdIn(eq(List.of(1L)), eq(Status.RESOLVED), eq(Status.CLOSED), any(LocalDateTime.class))).thenReturn(1);
+
+        List<BulkTransitionResultDto> results = ticketService.closeTickets(request);
+
+        assertEquals(List.of(
+                new BulkTransitionResultDto(1L, Outcome.UPDATED),
+                new BulkTransitionResultDto(2L, Outcome.MISSING_RESOLUTION_SUMMARY),
+                new BulkTransitionResultDto(3L, Outcome.INVALID_STATE),
+                new BulkTransitionResultDto(4L, Outcome.NOT_FOUND)
+        ), results);
+    }
+
+    @Test
+    void givenConcurrentTransition_whenResolvingInBulk_thenLostTicketsAreReportedAsConflicts() {
+        BulkTicketRequestDto request = new BulkTicketRequestDto(List.of(1L, 2L), null);
+        when(ticketRepository.findStatesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+                new TicketStateView(1L, Status.IN_PROGRESS, 1L, false, 1L),
+                new TicketStateView(2L, Status.IN_PROGRESS, 1L, false, 1L)
+        )).thenReturn(List.of(
+                new TicketStateView(1L, Status.RESOLVED, 1L, false, 2L),
+                new TicketStateView(2L, Status.NEW, null, false, 3L)
+        ));
+        when(ticketRepository.updateStatusByIdIn(List.of(1L, 2L), Status.IN_PROGRESS, Status.RESOLVED)).thenReturn(1);
+        when(ticketRepository.findVersionedByIdIn(List.of(1L))).thenReturn(List.of(new VersionedTicketView(
+                new TicketDto(1L, "description", Status.RESOLVED, LocalDateTime.now(), null, "Agent001", null), 1L, 2L)
+        ));
+
+        List<BulkTransitionResultDto> results = ticketService.resolveTickets(request);
+
+        assertEquals(List.of(
+                new BulkTransitionResultDto(1L, Outcome.UPDATED),
+                new BulkTransitionResultDto(2L, Outcome.CONFLICT)
+        ), results);
+
+        ArgumentCaptor<TicketChangedEvent> captor = ArgumentCaptor.forClass(TicketChangedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().ticketId());
+        assertEquals(Status.RESOLVED, captor.getValue().status());
+        assertEquals(Status.RESOLVED, captor.getValue().ticket().status());
+        assertEquals(2L, captor.getValue().version());
+    }
+
+    @Test
+    void givenConcurrentAssignmentToAnotherAgent_whenAssigningInBulk_thenTicketIsReportedAsConflict() {
+        BulkTicketRequestDto request = new BulkTicketRequestDto(List.of(1L, 2L, 3L), null);
+        Agent agent = new Agent(7L, "Agent007");
+        when(agentRepository.findById(7L)).thenReturn(Optional.of(agent));
+        when(ticketRepository.findStatesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+                new TicketStateView(1L, Status.NEW, null, false, 0L),
+                new TicketStateView(2L, Status.NEW, null, false, 0L),
+                new TicketStateView(3L, Status.NEW, null, false, 0L)
+        )).thenReturn(List.of(
+                new TicketStateView(1L, Status.IN_PROGRESS, 7L, false, 1L),
+                // Another writer got there first: same status, but its agent...
+                new TicketStateView(2L, Status.IN_PROGRESS, 8L, false, 1L),
+                // ...or our agent, after a further change.
+                new TicketStateView(3L, Status.IN_PROGRESS, 7L, false, 2L)
+        ));
+        when(ticketRepository.assignAgentByIdIn(List.of(1L, 2L, 3L), agent, Status.NEW, Status.IN_PROGRESS)).thenReturn(1);
+        when(ticketRepository.findVersionedByIdIn(List.of(1L))).thenReturn(List.of(new VersionedTicketView(
+                new TicketDto(1L, "description", Status.IN_PROGRESS, LocalDateTime.now(), null, "Agent007", null), 7L, 1L)
+        ));
+
+        List<BulkTransitionResultDto> results = ticketService.assignAgentToTickets(request, 7L);
+
+        assertEquals(List.of(
+                new BulkTransitionResultDto(1L, Outcome.UPDATED),
+                new BulkTransitionResultDto(2L, Outcome.CONFLICT),
+                new BulkTransitionResultDto(3L, Outcome.CONFLICT)
+        ), results);
+        verify(eventPublisher, times(1)).publishEvent(any(TicketChangedEvent.class));
+    }
+
+    @Test
+    void givenNonExistentAgent_whenAssigningInBulk_thenThrowException() {
+        BulkTicketRequestDto request = new BulkTicketRequestDto(List.of(1L), null);
+        when(agentRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(AgentNotFoundException.class,
+                () -> ticketService.assignAgentToTickets(request, 99L));
+    }
+
     @Test
     void givenTicketDescriptionAndResolutionSummary_whenUpdating_thenDescriptionAndResolutionSummaryAreUpdated() {
         Long ticketId = 1L;
@@ -237,6 +597,7 @@ public class TicketServiceTest {
         TicketDto ticketDto = new TicketDto(ticketId, "description", Status.RESOLVED, LocalDateTime.now(), null, null, "resolutionSummary");
         Ticket originalTicket = new Ticket(ticketId, ticketDto.description(), Status.RESOLVED, LocalDateTime.now());
         originalTicket.setResolutionSummary(ticketDto.resolutionSummary());
+        originalTicket.setVersion(0L);
 
         Ticket updatedTicketFromRepo = new Ticket(ticketId, "updated description", Status.RESOLVED, LocalDateTime.now());
         updatedTicketFromRepo.setResolutionSummary("updated resolution summary");
@@ -250,6 +611,40 @@ public class TicketServiceTest {
         assertEquals(updatedTicketFromRepo.getResolutionSummary(), updatedTicket.resolutionSummary());
     }
 
+    @Test
+    void givenUnchangedFields_whenUpdating_thenNothingIsWritten() {
+        Long ticketId = 1L;
+        TicketDto ticketDto = new TicketDto(ticketId, "description", null, null, null, null, "summary");
+        Ticket ticket = new Ticket(ticketId, "description", Status.RESOLVED, LocalDateTime.now());
+        ticket.setResolutionSummary("summary");
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+
+        TicketDto updatedTicket = ticketService.updateTicket(ticketId, ticketDto);
+
+        assertEquals("description", updatedTicket.description());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void givenStaleVersion_whenUpdating_thenUpdateIsRetriedAndSucceeds() {
+        Long ticketId = 1L;
+        TicketDto ticketDto = new TicketDto(ticketId, "updated description", null, null, null, null, null);
+        Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        ticket.setVersion(0L);
+
+        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.save(any(Ticket.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Ticket.class, ticketId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        TicketDto updatedTicket = ticketService.updateTicket(ticketId, ticketDto);
+
+        assertEquals("updated description", updatedTicket.description());
+        verify(ticketRepository, times(2)).findById(ticketId);
+    }
+
     @Test
     void givenNonExistentTicket_whenUpdating_thenThrowException() {
         Long nonExistentTicketId = 999L;
@@ -280,15 +675,17 @@ public class TicketServiceTest {
     }
 
     @Test
-    void givenValidTicketId_whenGettingTicket_thenReturnTicketDetails() {
+    void givenValidTicketId_whenGettingTicket_thenReturnTicketDetailsWithItsVersion() {
         Long ticketId = 1L;
         Ticket ticket = new Ticket(ticketId, "description", Status.NEW, LocalDateTime.now());
+        ticket.setVersion(4L);
 
         when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
 
-        TicketDto ticketDto = ticketService.getTicketById(ticketId);
+        VersionedTicketDto versionedTicket = ticketService.getVersionedTicketById(ticketId);
 
-        assertEquals(ticketId, ticketDto.id());
+        assertEquals(ticketId, versionedTicket.ticket().id());
+        assertEquals(4L, versionedTicket.version());
     }
 
     @Test
@@ -298,22 +695,23 @@ public class TicketServiceTest {
         when(ticketRepository.findById(nonExistentTicketId)).thenReturn(Optional.empty());
 
         assertThrows(TicketNotFoundException.class,
-                () -> ticketService.getTicketById(nonExistentTicketId));
+                () -> ticketService.getVersionedTicketById(nonExistentTicketId));
     }
 
     @Test
     void givenFilterCriteria_whenGettingTickets_thenReturnFilteredTickets() {
         TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW),null,null,null);
-        List<Ticket> filteredTickets = List.of(
-                new Ticket(1L, "Ticket 1", Status.NEW, LocalDateTime.now()),
-                new Ticket(2L, "Ticket 22", Status.NEW, LocalDateTime.now())
+        List<TicketDto> filteredTickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.NEW, LocalDateTime.now(), null, null, null),
+                new TicketDto(2L, "Ticket 22", Status.NEW, LocalDateTime.now(), null, null, null)
         );
 
-        when(ticketRepository.findWithFilters(anyList(), any(), any(), any())).thenReturn(filteredTickets);
+        when(ticketRepository.findDtosWithFilters(anyList(), any(), any(), any())).thenReturn(filteredTickets);
 
         List<TicketDto> retrievedTickets = ticketService.getTickets(filterDto);
 
         assertEquals(2,  retrievedTickets.size());
+        verify(ticketMetrics).recordResults(TicketMetrics.Query.LIST, 2);
     }
 
     @Test
@@ -329,4 +727,165 @@ public class TicketServiceTest {
                 () -> ticketService.getTickets(filterDto));
     }
 
+    @Test
+    void givenMoreTicketsThanPageSize_whenGettingTicketPage_thenNextCursorPointsAtLastTicket() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.CLOSED), null, null, null);
+        LocalDateTime createdDate = LocalDateTime.of(2023, 6, 1, 9, 0);
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Ticket 1", Status.CLOSED, createdDate, null, null, null),
+                new TicketDto(2L, "Ticket 2", Status.CLOSED, createdDate, null, null, null),
+                new TicketDto(3L, "Ticket 3", Status.CLOSED, createdDate, null, null, null)
+        );
+
+        when(ticketRepository.findPageWithFilters(anyList(), any(), any(), any(), any(), any(), eq(3))).thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketPage(filterDto, null, 2);
+
+        assertEquals(2, page.tickets().size());
+        assertEquals(new TicketCursor(createdDate, 2L), TicketCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void givenLastPage_whenGettingTicketPage_thenNoNextCursorIsReturned() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+        TicketCursor cursor = new TicketCursor(LocalDateTime.of(2023, 6, 1, 9, 0), 2L);
+        List<TicketDto> tickets = List.of(new TicketDto(3L, "Ticket 3", Status.NEW, LocalDateTime.now(), null, null, null));
+
+        when(ticketRepository.findPageWithFilters(any(), any(), any(), any(), eq(cursor.createdDate()), eq(cursor.id()), anyInt())).thenReturn(tickets);
+
+        TicketPageDto page = ticketService.getTicketPage(filterDto, cursor.encode(), null);
+
+        assertEquals(1, page.tickets().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGettingTicketPage_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+
+        assertThrows(InvalidCursorException.class,
+                () -> ticketService.getTicketPage(filterDto, "not-a-cursor", null));
+    }
+
+    @Test
+    void givenNoBucket_whenGettingTicketStats_thenStatsAreBucketedByDay() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        TicketStatsDto stats = new TicketStatsDto(2, Map.of(Status.NEW, 2L), Map.of(), 2, Map.of(), null);
+
+        when(ticketRepository.computeStatsWithFilters(List.of(Status.NEW), null, null, null, DateBucket.DAY)).thenReturn(stats);
+
+        assertEquals(stats, ticketService.getTicketStats(filterDto, null));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenGettingTicketStats_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(
+                null,
+                LocalDateTime.of(2023, 6, 25, 0, 0),
+                LocalDateTime.of(1999, 6, 25, 0, 0),
+                null
+        );
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> ticketService.getTicketStats(filterDto, DateBucket.HOUR));
+    }
+
+    @Test
+    void givenCounters_whenGettingTicketBacklog_thenCountsAreServedFromMemory() {
+        Map<Status, Long> byStatus = Map.of(Status.NEW, 3L, Status.IN_PROGRESS, 1L);
+        Map<Long, Map<Status, Long>> byAgent = Map.of(1L, Map.of(Status.IN_PROGRESS, 1L));
+        when(ticketCounters.countsByStatus()).thenReturn(byStatus);
+        when(ticketCounters.countsByAgent()).thenReturn(byAgent);
+
+        TicketBacklogDto backlog = ticketService.getTicketBacklog();
+
+        assertEquals(new TicketBacklogDto(byStatus, byAgent), backlog);
+        verifyNoInteractions(ticketRepository);
+    }
+
+    @Test
+    void givenArchivedTicket_whenGettingTicketById_thenArchiveIsConsulted() {
+        LocalDateTime createdDate = LocalDateTime.of(2023, 1, 1, 9, 0);
+        when(ticketRepository.findById(42L)).thenReturn(Optional.empty());
+        when(ticketArchive.findById(42L)).thenReturn(Optional.of(
+                new ArchivedTicket(42L, "Old ticket", createdDate, createdDate.plusDays(1), "Agent001", "Fixed", 3L)));
+
+        VersionedTicketDto versionedTicket = ticketService.getVersionedTicketById(42L);
+
+        assertEquals(42L, versionedTicket.ticket().id());
+        assertEquals(Status.CLOSED, versionedTicket.ticket().status());
+        assertEquals("Fixed", versionedTicket.ticket().resolutionSummary());
+        assertEquals(3L, versionedTicket.version());
+    }
+
+    @Test
+    void givenClosedStatusFilter_whenGettingTickets_thenArchivedTicketsAreMergedInCreatedOrder() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.CLOSED), null, null, null);
+        LocalDateTime createdDate = LocalDateTime.of(2023, 1, 1, 9, 0);
+        TicketDto liveTicket = new TicketDto(5L, "Live", Status.CLOSED, createdDate.plusDays(2), null, null, null);
+        TicketDto archivedTicket = new TicketDto(2L, "Archived", Status.CLOSED, createdDate, null, null, null);
+        TicketDto archivedCopyOfLiveTicket = new TicketDto(5L, "Live", Status.CLOSED, createdDate.plusDays(2), null, null, null);
+        when(ticketRepository.findDtosWithFilters(List.of(Status.CLOSED), null, null, null)).thenReturn(List.of(liveTicket));
+        when(ticketArchive.find(filterDto)).thenReturn(List.of(archivedTicket, archivedCopyOfLiveTicket));
+
+        List<TicketDto> tickets = ticketService.getTickets(filterDto);
+
+        assertEquals(List.of(2L, 5L), tickets.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    void givenOpenStatusFilter_whenGettingTickets_thenArchiveIsNotRead() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        when(ticketRepository.findDtosWithFilters(List.of(Status.NEW), null, null, null)).thenReturn(List.of());
+
+        ticketService.getTickets(filterDto);
+
+        verifyNoInteractions(ticketArchive);
+    }
+
+    @Test
+    void givenFilterCoveringClosedTickets_whenGettingTicketsVersionTag_thenArchiveSizeIsIncluded() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+        when(ticketRepository.computeFingerprintWithFilters(null, null, null, null))
+                .thenReturn(new TicketListFingerprint(2L, 26L, 3L));
+        when(ticketArchive.size()).thenReturn(255L);
+
+        assertEquals("2-1a-3-ff", ticketService.getTicketsVersionTag(filterDto));
+    }
+
+    @Test
+    void givenFilter_whenGettingTicketsVersionTag_thenFingerprintIsEncoded() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        when(ticketRepository.computeFingerprintWithFilters(List.of(Status.NEW), null, null, null))
+                .thenReturn(new TicketListFingerprint(2L, 26L, 3L));
+
+        assertEquals("2-1a-3", ticketService.getTicketsVersionTag(filterDto));
+    }
+
+    @Test
+    void givenBlankQuery_whenSearchingTickets_thenThrowException() {
+        TicketFilterDto filterDto = new TicketFilterDto(null, null, null, null);
+
+        assertThrows(InvalidSearchQueryException.class,
+                () -> ticketService.searchTickets("  ", filterDto, null, null));
+        verifyNoInteractions(ticketSearchIndex);
+    }
+
+    @Test
+    void givenRankedHits_whenSearchingTickets_thenTicketsAreReturnedInRankOrder() {
+        TicketFilterDto filterDto = new TicketFilterDto(List.of(Status.NEW), null, null, null);
+        LocalDateTime createdDate = LocalDateTime.now();
+        TicketDto first = new TicketDto(7L, "VPN timeout", Status.NEW, createdDate, null, null, null);
+        TicketDto stale = new TicketDto(5L, "VPN down", Status.IN_PROGRESS, createdDate, null, "Agent001", null);
+
+        when(ticketSearchIndex.search("vpn", filterDto, 2, 3)).thenReturn(new TicketSearchHits(List.of(7L, 5L, 3L)));
+        when(ticketRepository.findDtosByIdIn(List.of(7L, 5L))).thenReturn(List.of(stale, first));
+
+        TicketSearchPageDto page = ticketService.searchTickets("vpn", filterDto, 1, 2);
+
+        assertEquals(List.of(first), page.tickets());
+        assertTrue(page.hasNext());
+        assertEquals(1, page.page());
+    }
+
 }
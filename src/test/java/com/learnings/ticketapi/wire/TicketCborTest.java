@@ -0,0 +1,107 @@
+package com.learnings.ticketapi.wire;
+
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.model.Status;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketCborTest {
+
+    @Test
+    void givenTicketsWithNullsAndOldDates_whenRoundTripped_thenTheyAreUnchanged() throws IOException {
+        List<TicketDto> tickets = List.of(
+                new TicketDto(1L, "Printer jams", Status.NEW, LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_000_000), null, null, null),
+                new TicketDto(70_000L, "Café Wi-Fi down", Status.CLOSED, LocalDateTime.of(1969, 12, 31, 23, 59),
+                        LocalDateTime.of(2024, 2, 1, 10, 0), "Agent001", "Router restarted"),
+                new TicketDto(5_000_000_000L, "", Status.RESOLVED, LocalDateTime.of(2024, 3, 1, 9, 0), null, "Agent002", ""));
+
+        assertEquals(tickets, TicketCbor.read(new ByteArrayInputStream(encode(tickets))));
+    }
+
+    @Test
+    void givenMicrosecondDates_whenEncoded_thenTheyAreTruncatedToMillis() throws IOException {
+        TicketDto ticket = new TicketDto(1L, "Ticket", Status.NEW, LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_456_000), null, null, null);
+
+        TicketDto decoded = TicketCbor.read(new ByteArrayInputStream(encode(List.of(ticket)))).get(0);
+
+        assertEquals(LocalDateTime.of(2024, 1, 1, 9, 0, 0, 123_000_000), decoded.createdDate());
+    }
+
+    @Test
+    void givenRepeatedAgent_whenEncoded_thenLaterTicketsReferToItByIndex() throws IOException {
+        List<TicketDto> tickets = new ArrayList<>();
+        for(long id = 1; id <= 100; id++) {
+            tickets.add(new TicketDto(id, "Ticket", Status.IN_PROGRESS, LocalDateTime.of(2024, 1, 1, 9, 0), null, "A rather long agent name", null));
+        }
+
+        byte[] encoded = encode(tickets);
+
+        int nameOccurrences = 0;
+        byte[] name = "A rather long agent name".getBytes(StandardCharsets.UTF_8);
+        for(int i = 0; i + name.length <= encoded.length; i++) {
+            if(Arrays.equals(encoded, i, i + name.length, name, 0, name.length)) {
+                nameOccurrences++;
+            }
+        }
+        assertEquals(1, nameOccurrences);
+        assertEquals(tickets, TicketCbor.read(new ByteArrayInputStream(encoded)));
+    }
+
+    @Test
+    void givenTicket_whenEncoded_thenItIsPlainCborWithStatusOrdinalAndEpochMillis() throws IOException {
+        TicketDto ticket = new TicketDto(1L, "A", Status.CLOSED, LocalDateTime.of(1970, 1, 1, 0, 0, 0, 5_000_000), null, null, null);
+
+        byte[] expected = {
+                (byte) 0x9F,                          // indefinite-length list
+                (byte) 0x87,                          // ticket: array of 7
+                0x01,                                 // id 1
+                0x61, 'A',                            // description "A"
+                0x03,                                 // CLOSED ordinal
+                0x05,                                 // created 5 ms after the epoch
+                (byte) 0xF6, (byte) 0xF6, (byte) 0xF6, // no closed date, agent or summary
+                (byte) 0xFF                           // end of list
+        };
+        assertArrayEquals(expected, encode(List.of(ticket)));
+    }
+
+    @Test
+    void givenEmptyList_whenRoundTripped_thenNoTicketsAreRead() throws IOException {
+        byte[] encoded = encode(List.of());
+
+        assertTrue(TicketCbor.read(new ByteArrayInputStream(encoded)).isEmpty());
+    }
+
+    @Test
+    void givenWriterAbandonedAfterAFailure_whenRead_thenTheTruncatedListIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TicketCbor.Writer writer = TicketCbor.writer(out);
+        writer.write(new TicketDto(1L, "Printer jams", Status.NEW, LocalDateTime.of(2024, 1, 1, 9, 0), null, null, null));
+        writer.flush();
+
+        assertThrows(EOFException.class, () -> TicketCbor.read(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    private static byte[] encode(List<TicketDto> tickets) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TicketCbor.Writer writer = TicketCbor.writer(out);
+        for(TicketDto ticket : tickets) {
+            writer.write(ticket);
+        }
+        writer.finish();
+        return out.toByteArray();
+    }
+}
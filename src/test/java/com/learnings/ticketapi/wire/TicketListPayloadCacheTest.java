@@ -0,0 +1,159 @@
+package com.learnings.ticketapi.wire;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learnings.ticketapi.dto.TicketDto;
+import com.learnings.ticketapi.dto.TicketFilterDto;
+import com.learnings.ticketapi.event.TicketChangedEvent;
+import com.learnings.ticketapi.model.Status;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketListPayloadCacheTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 10, 9, 0);
+    private static final TicketFilterDto OPEN_TICKETS = new TicketFilterDto(List.of(Status.NEW, Status.IN_PROGRESS), null, null, null);
+    private static final TicketFilterDto AGENT_TICKETS = new TicketFilterDto(null, null, null, "Agent001");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TicketListPayloadCache cache = new TicketListPayloadCache(objectMapper,
+            DataSize.ofKilobytes(64), DataSize.ofKilobytes(4), Duration.ofMinutes(1));
+
+    @Test
+    void givenCachedJsonList_whenRead_thenGunzippedBodyIsTheSerializedList() throws IOException {
+        List<TicketDto> tickets = List.of(ticket(1L, Status.NEW, null), ticket(2L, Status.IN_PROGRESS, "Agent001"));
+
+        cache.put(OPEN_TICKETS, TicketListPayloadCache.Format.JSON, tickets, "W/\"2-3-0\"", cache.generation());
+        TicketListPayloadCache.Payload payload = cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.JSON);
+
+        assertNotNull(payload);
+        assertEquals("W/\"2-3-0\"", payload.eTag());
+        assertEquals(tickets, objectMapper.readValue(gunzip(payload), new TypeReference<List<TicketDto>>() {}));
+    }
+
+    @Test
+    void givenCachedCborList_whenRead_thenGunzippedBodyDecodesToTheList() throws IOException {
+        List<TicketDto> tickets = List.of(ticket(1L, Status.NEW, null), ticket(2L, Status.IN_PROGRESS, "Agent001"));
+
+        cache.put(OPEN_TICKETS, TicketListPayloadCache.Format.TICKET_CBOR, tickets, "W/\"2-3-0\"", cache.generation());
+
+        assertNull(cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.JSON));
+        assertEquals(tickets, TicketCbor.read(gunzip(cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.TICKET_CBOR))));
+    }
+
+    @Test
+    void givenListWithoutStatusFilter_whenReadWithEveryStatusListed_thenSameEntryIsReturned() throws IOException {
+        TicketListPayloadCache.Payload payload = cache.put(new TicketFilterDto(null, null, null, " "),
+                TicketListPayloadCache.Format.JSON, List.of(), "W/\"0-0-0\"", cache.generation());
+
+        TicketFilterDto everyStatus = new TicketFilterDto(
+                List.of(Status.CLOSED, Status.NEW, Status.RESOLVED, Status.IN_PROGRESS, Status.NEW), null, null, null);
+
+        assertSame(payload, cache.get(everyStatus, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenCachedList_whenTicketMovesOutOfItsStatuses_thenListIsEvicted() throws IOException {
+        cache.put(OPEN_TICKETS, TicketListPayloadCache.Format.JSON, List.of(), "W/\"0-0-0\"", cache.generation());
+
+        cache.onTicketChanged(event(Status.IN_PROGRESS, Status.RESOLVED, 1L, 1L, ticket(1L, Status.RESOLVED, "Agent001")));
+
+        assertNull(cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenCachedList_whenTicketOutsideItsStatusesOrDatesChanges_thenListIsKept() throws IOException {
+        TicketFilterDto openThisMonth = new TicketFilterDto(List.of(Status.NEW), CREATED.withDayOfMonth(1), null, null);
+        cache.put(openThisMonth, TicketListPayloadCache.Format.JSON, List.of(), "W/\"0-0-0\"", cache.generation());
+
+        cache.onTicketChanged(event(Status.RESOLVED, Status.CLOSED, 1L, 1L, ticket(1L, Status.CLOSED, "Agent001")));
+        TicketDto lastMonth = new TicketDto(2L, "Old ticket", Status.NEW, CREATED.minusMonths(1), null, null, null);
+        cache.onTicketChanged(event(Status.NEW, Status.NEW, null, null, lastMonth));
+
+        assertNotNull(cache.get(openThisMonth, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenListForAgent_whenAnotherAgentsTicketChanges_thenListIsKept() throws IOException {
+        cache.put(AGENT_TICKETS, TicketListPayloadCache.Format.JSON, List.of(), "W/\"0-0-0\"", cache.generation());
+
+        cache.onTicketChanged(event(Status.IN_PROGRESS, Status.RESOLVED, 2L, 2L, ticket(1L, Status.RESOLVED, "Agent002")));
+
+        assertNotNull(cache.get(AGENT_TICKETS, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenListForAgent_whenTicketIsReassigned_thenListIsEvicted() throws IOException {
+        cache.put(AGENT_TICKETS, TicketListPayloadCache.Format.JSON, List.of(), "W/\"0-0-0\"", cache.generation());
+
+        // The previous agent may have been Agent001; the event only carries its id.
+        cache.onTicketChanged(event(Status.IN_PROGRESS, Status.IN_PROGRESS, 1L, 2L, ticket(1L, Status.IN_PROGRESS, "Agent002")));
+
+        assertNull(cache.get(AGENT_TICKETS, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenTicketChangedWhileListWasRead_whenPut_thenPayloadIsReturnedButNotCached() throws IOException {
+        long generation = cache.generation();
+        cache.onTicketChanged(event(null, Status.NEW, null, null, ticket(3L, Status.NEW, null)));
+
+        TicketListPayloadCache.Payload payload = cache.put(OPEN_TICKETS, TicketListPayloadCache.Format.JSON,
+                List.of(), "W/\"0-0-0\"", generation);
+
+        assertNotNull(payload);
+        assertNull(cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenListWhoseGzippedBodyExceedsTheEntryCap_whenPut_thenPayloadIsReturnedButNotCached() throws IOException {
+        List<TicketDto> tickets = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new TicketDto(id, "Ticket " + id + " " + Long.toHexString(id * 0x9E3779B97F4A7C15L),
+                        Status.NEW, CREATED.plusSeconds(id), null, null, null))
+                .toList();
+
+        TicketListPayloadCache.Payload payload = cache.put(OPEN_TICKETS, TicketListPayloadCache.Format.JSON,
+                tickets, "W/\"1000-1-0\"", cache.generation());
+
+        assertTrue(payload.gzippedBody().length > 4 * 1024);
+        assertNull(cache.get(OPEN_TICKETS, TicketListPayloadCache.Format.JSON));
+    }
+
+    @Test
+    void givenAcceptHeaders_whenNegotiating_thenOnlyUnambiguousRepresentationsAreCached() {
+        assertEquals(TicketListPayloadCache.Format.JSON, TicketListPayloadCache.Format.forAccept(null));
+        assertEquals(TicketListPayloadCache.Format.JSON, TicketListPayloadCache.Format.forAccept("*/*"));
+        assertEquals(TicketListPayloadCache.Format.JSON, TicketListPayloadCache.Format.forAccept("application/json"));
+        assertEquals(TicketListPayloadCache.Format.TICKET_CBOR, TicketListPayloadCache.Format.forAccept(TicketCbor.MEDIA_TYPE_VALUE));
+        assertEquals(TicketListPayloadCache.Format.TICKET_CBOR,
+                TicketListPayloadCache.Format.forAccept(TicketCbor.MEDIA_TYPE_VALUE + ", */*;q=0.5"));
+        assertNull(TicketListPayloadCache.Format.forAccept(TicketCbor.MEDIA_TYPE_VALUE + ", application/json"));
+        assertNull(TicketListPayloadCache.Format.forAccept("text/html"));
+    }
+
+    private static TicketDto ticket(Long id, Status status, String agent) {
+        return new TicketDto(id, "Ticket " + id, status, CREATED, null, agent, null);
+    }
+
+    private static TicketChangedEvent event(Status previousStatus, Status status, Long previousAgentId, Long agentId, TicketDto ticket) {
+        return new TicketChangedEvent(ticket.id(), previousStatus, status, previousAgentId, agentId, CREATED, ticket, 1L);
+    }
+
+    private static InputStream gunzip(TicketListPayloadCache.Payload payload) throws IOException {
+        return new GZIPInputStream(new ByteArrayInputStream(payload.gzippedBody()));
+    }
+}
@@ -10,4 +10,6 @@ VALUES (3, 'Ticket 3', 'NEW', CURRENT_TIMESTAMP(), NULL);
 INSERT INTO ticket (id, description, status, created_date, assigned_agent_id)
 VALUES (4, 'Ticket 4', 'RESOLVED', CURRENT_TIMESTAMP(), 2);
 INSERT INTO ticket (id, description, status, created_date, assigned_agent_id)
-VALUES (5, 'Ticket 5', 'RESOLVED', '2023-06-01T09:00:00', 2);
\ No newline at end of file
+VALUES (5, 'Ticket 5', 'RESOLVED', '2023-06-01T09:00:00', 2);
+
+ALTER SEQUENCE ticket_seq RESTART WITH 100;